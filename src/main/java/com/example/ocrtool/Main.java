@@ -1,7 +1,8 @@
 package com.example.ocrtool;
 
-import com.example.ocrtool.config.KeyMapping;
+import com.example.ocrtool.config.ConfigService;
 import com.example.ocrtool.hotkey.GlobalHotkeyListener;
+import com.example.ocrtool.image.ImageBackend;
 import com.example.ocrtool.utils.PathDiagnostic;
 
 import java.util.Set;
@@ -10,9 +11,13 @@ public class Main {
     public static void main(String[] args) {
         // 添加路径诊断
         PathDiagnostic.printPaths();
+        // 确认图片预处理方式可用（没有OpenCV本地库且启动时未加 --add-modules jdk.incubator.vector 时直接退出）
+        ImageBackend.current();
         // 获取快捷键编码
-        Set<Integer> hotkey = KeyMapping.loadHotkey();
+        Set<Integer> hotkey = ConfigService.get().hotkey();
         // 注册快捷键
         GlobalHotkeyListener.startHotKeyListener(hotkey);
+        // 监听配置文件变化
+        ConfigService.startWatching();
     }
 }
@@ -0,0 +1,59 @@
+package com.example.ocrtool.benchmark;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Benchmarks
+ * <p>
+ * 基准测试的公共工具：生成模拟截图、预热后计时
+ * 这里不依赖JMH，结果只用于同一台机器上的横向对比
+ */
+public final class Benchmarks {
+
+    // 工具类不允许实例化
+    private Benchmarks() {
+
+    }
+
+    /**
+     * 生成一张模拟截图：浅色背景、深色中英文文字，并加入少量噪点
+     */
+    public static BufferedImage sampleCapture(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(new Color(245, 245, 245));
+            g.fillRect(0, 0, width, height);
+            g.setColor(new Color(30, 30, 30));
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 18));
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            for (int y = 24; y < height; y += 28) {
+                g.drawString("QuicklyExtractContent 截图识别 OCR 0123456789 性能测试 The quick brown fox", 8, y);
+            }
+        } finally {
+            g.dispose();
+        }
+        // 固定种子，保证每次生成的图片一致
+        Random random = new Random(42);
+        for (int i = 0; i < width * height / 200; i++) {
+            image.setRGB(random.nextInt(width), random.nextInt(height), random.nextInt(0xFFFFFF));
+        }
+        return image;
+    }
+
+    /**
+     * 预热后执行多次，返回平均耗时（毫秒）
+     */
+    public static double measure(int warmup, int iterations, Runnable task) {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ocrtool.benchmark;
+
+import com.example.ocrtool.text.TableExtractor;
+import com.example.ocrtool.text.TextNormalizer;
+import net.sourceforge.tess4j.Word;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NormalizeBenchmark
+ * <p>
+ * 测量识别结果后处理的耗时，目标是典型截图（几十行文字、一张小表格）增加不到1ms
+ * 输入模拟chi_sim的原始输出：中文之间带空格、行被截断、全半角标点混用
+ * 运行方式：java -cp ... com.example.ocrtool.benchmark.NormalizeBenchmark
+ */
+public class NormalizeBenchmark {
+
+    // 行数：小选区、半屏、整屏文档
+    private static final int[] LINES = {10, 40, 120};
+
+    // 表格行数（每行4列）
+    private static final int[] TABLE_ROWS = {5, 20, 60};
+
+    // 单次处理的耗时目标（毫秒）
+    private static final double BUDGET_MILLIS = 1.0;
+
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 5000;
+
+    public static void main(String[] args) {
+        System.out.printf("%-16s %12s %8s%n", "输入", "平均耗时(ms)", "<1ms");
+        for (int lines : LINES) {
+            List<String> raw = sampleLines(lines);
+            double millis = Benchmarks.measure(WARMUP, ITERATIONS, () -> {
+                TextNormalizer normalizer = new TextNormalizer();
+                raw.forEach(normalizer::accept);
+                normalizer.finish();
+            });
+            print(lines + "行文本", millis);
+        }
+        for (int rows : TABLE_ROWS) {
+            List<Word> words = sampleTable(rows);
+            double millis = Benchmarks.measure(WARMUP, ITERATIONS, () -> TableExtractor.toTsv(words, true));
+            print(rows + "x4表格", millis);
+        }
+    }
+
+    private static void print(String input, double millis) {
+        System.out.printf("%-16s %12.4f %8s%n", input, millis, millis < BUDGET_MILLIS ? "✅" : "❌");
+    }
+
+    // 模拟chi_sim按行输出的原始文本：每个字之间带空格，每行约40个字
+    private static List<String> sampleLines(int count) {
+        String[] fragments = {
+                "截 图 识 别 的 结 果 ", "会 被 复 制 到 剪 贴 板 , ", "使 用 Java 开 发 ", "支 持 OCR 与 表 格 ",
+                "版 本 2.0 发 布 于 2024 年 ", "（ 全 角 括 号 ） ", "ＡＢＣ １２３ ", "并 且 能 够 自 动 换 行 。 "
+        };
+        List<String> lines = new ArrayList<>(count);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; lines.size() < count; i++) {
+            line.append(fragments[i % fragments.length]);
+            if (line.length() > 70) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+        }
+        return lines;
+    }
+
+    // 模拟RIL_WORD的结果：rows行4列，中文按字切成单词
+    private static List<Word> sampleTable(int rows) {
+        String[] header = {"名 称", "数 量", "单 价", "备 注"};
+        List<Word> words = new ArrayList<>();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < header.length; c++) {
+                String cell = r == 0 ? header[c] : c == 1 ? String.valueOf(r * 7) : c == 2 ? r + ".50" : header[c];
+                int x = 20 + c * 180;
+                for (String part : cell.split(" ")) {
+                    int width = part.length() * 16;
+                    words.add(new Word(part, 90, new Rectangle(x, 20 + r * 28, width, 18)));
+                    x += width + 4;
+                }
+            }
+        }
+        return words;
+    }
+}
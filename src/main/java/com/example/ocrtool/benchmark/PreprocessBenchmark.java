@@ -0,0 +1,64 @@
+package com.example.ocrtool.benchmark;
+
+import com.example.ocrtool.image.ImageBackend;
+import com.example.ocrtool.image.ImagePreprocessor;
+import com.example.ocrtool.opencv.ImageOptimizationHandler;
+import com.example.ocrtool.opencv.TiledProcessor;
+import com.example.ocrtool.utils.PathDiagnostic;
+import org.opencv.core.Size;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PreprocessBenchmark
+ * <p>
+ * 对比OpenCV与纯Java（Vector API）两种预处理实现的耗时
+ * 完整流程为：灰度化 → 3*3高斯去噪 → Otsu二极化 → 闭运算 → 转回BufferedImage
+ * 纯Java实现是单线程的，OpenCV分两行报告：OPENCV固定不分块，和纯Java同为单线程对比；
+ * OPENCV分块使用按配置创建的共享分块线程池，只有图片达到image.tiling.min-pixels时才会真正分块
+ * 运行方式：java --add-modules jdk.incubator.vector -cp ... com.example.ocrtool.benchmark.PreprocessBenchmark
+ */
+public class PreprocessBenchmark {
+
+    // 常见截图尺寸：小选区、半屏、1080p全屏、4K全屏
+    private static final int[][] SIZES = {{640, 360}, {1280, 720}, {1920, 1080}, {3840, 2160}};
+
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    // 并行度为1的线程池永远不分块，用来测量单线程的OpenCV
+    private static final TiledProcessor UNTILED = new TiledProcessor(new ForkJoinPool(1), Long.MAX_VALUE);
+
+    public static void main(String[] args) {
+        // 按配置尝试加载OpenCV本地库，加载失败时只测纯Java实现
+        PathDiagnostic.printPaths();
+
+        System.out.printf("%-12s %-12s %12s%n", "尺寸", "实现", "平均耗时(ms)");
+        for (int[] size : SIZES) {
+            BufferedImage capture = Benchmarks.sampleCapture(size[0], size[1]);
+            String name = size[0] + "x" + size[1];
+            if (PathDiagnostic.isOpenCvLoaded()) {
+                print(name, ImageBackend.OPENCV.name(),
+                        Benchmarks.measure(WARMUP, ITERATIONS, () -> pipeline(new ImageOptimizationHandler(capture, UNTILED))));
+                print(name, ImageBackend.OPENCV + "分块",
+                        Benchmarks.measure(WARMUP, ITERATIONS, () -> pipeline(new ImageOptimizationHandler(capture, TiledProcessor.shared()))));
+            }
+            print(name, ImageBackend.VECTOR.name(),
+                    Benchmarks.measure(WARMUP, ITERATIONS, () -> pipeline(ImageBackend.VECTOR.create(capture))));
+        }
+    }
+
+    private static void print(String size, String backend, double millis) {
+        System.out.printf("%-12s %-12s %12.3f%n", size, backend, millis);
+    }
+
+    // 完整预处理流程
+    private static BufferedImage pipeline(ImagePreprocessor image) {
+        image.toGray();
+        image.denoise(new Size(3, 3));
+        image.binarize();
+        image.morphClose(new Size(2, 2));
+        return image.getBufferedImage();
+    }
+}
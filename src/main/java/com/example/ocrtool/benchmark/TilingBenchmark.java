@@ -0,0 +1,63 @@
+package com.example.ocrtool.benchmark;
+
+import com.example.ocrtool.opencv.ImageOptimizationHandler;
+import com.example.ocrtool.opencv.TiledProcessor;
+import com.example.ocrtool.utils.PathDiagnostic;
+import org.opencv.core.Size;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * TilingBenchmark
+ * <p>
+ * 对比OpenCV预处理在1/2/4/8个线程分块处理下的吞吐量，需要OpenCV本地库
+ * 模拟的是双4K显示器全屏截图（7680*2160）
+ */
+public class TilingBenchmark {
+
+    private static final int WIDTH = 7680;
+    private static final int HEIGHT = 2160;
+
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        PathDiagnostic.printPaths();
+        if (!PathDiagnostic.isOpenCvLoaded()) {
+            System.out.println("🤯OpenCV本地库未加载，无法进行分块基准测试");
+            return;
+        }
+
+        BufferedImage capture = Benchmarks.sampleCapture(WIDTH, HEIGHT);
+        double megaPixels = WIDTH * HEIGHT / 1_000_000.0;
+        double baseline = 0;
+        System.out.printf("%-6s %12s %12s %8s%n", "线程数", "平均耗时(ms)", "吞吐(MP/s)", "加速比");
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                // 最小像素数设为0，保证每轮都走分块逻辑（1个线程时即为不分块）
+                TiledProcessor tiles = new TiledProcessor(pool, 0);
+                double millis = Benchmarks.measure(WARMUP, ITERATIONS, () -> pipeline(capture, tiles));
+                if (threads == 1) {
+                    baseline = millis;
+                }
+                System.out.printf("%-6d %12.3f %12.1f %8.2f%n", threads, millis, megaPixels / millis * 1000, baseline / millis);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    // 完整预处理流程
+    private static BufferedImage pipeline(BufferedImage capture, TiledProcessor tiles) {
+        ImageOptimizationHandler image = new ImageOptimizationHandler(capture, tiles);
+        image.toGray();
+        image.denoise(new Size(3, 3));
+        image.binarize();
+        image.morphClose(new Size(2, 2));
+        return image.getBufferedImage();
+    }
+}
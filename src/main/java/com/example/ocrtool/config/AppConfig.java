@@ -0,0 +1,154 @@
+package com.example.ocrtool.config;
+
+import com.example.ocrtool.ocr.PreprocessStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * AppConfig
+ * <p>
+ * config.properties解析后的强类型配置，不可变
+ * 配置文件变化时会整体解析出一个新对象再替换，使用方拿到的始终是一份完整一致的配置
+ *
+ * @param hotkey       截图快捷键编码
+ * @param imageBackend 图片预处理方式（auto/opencv/vector）
+ * @param ocr          OCR相关配置
+ * @param tiling       大图分块相关配置
+ */
+public record AppConfig(Set<Integer> hotkey, String imageBackend, OcrSettings ocr, TilingSettings tiling) {
+
+    /**
+     * OCR相关配置
+     *
+     * @param language            训练数据语言
+     * @param confidenceThreshold 置信度阈值（0~100），低于该值时尝试其他策略
+     * @param strategies          预处理策略，第一个为默认策略，其余为置信度不足时并行尝试的策略
+     * @param threads             并行尝试策略的线程数
+     * @param normalizeText       是否对识别结果做后处理（去多余空格、统一全半角、重排段落）
+     * @param tableTsv            是否按单词位置识别表格，识别为表格时输出TSV
+     */
+    public record OcrSettings(String language, float confidenceThreshold, List<PreprocessStrategy> strategies, int threads,
+                              boolean normalizeText, boolean tableTsv) {
+    }
+
+    /**
+     * 大图分块相关配置
+     *
+     * @param threads   分块处理的线程数，1为不分块
+     * @param minPixels 像素数达到该值才分块
+     */
+    public record TilingSettings(int threads, long minPixels) {
+    }
+
+    /**
+     * 解析配置，配置有误时抛出IllegalArgumentException
+     */
+    public static AppConfig parse(Properties props) {
+        // 设置默认热键为CTRL+SHIFT+A
+        Set<Integer> hotkey = KeyMapping.parseHotkey(props.getProperty("screenshot.hotkey", "CTRL+SHIFT+A"));
+        if (hotkey.isEmpty()) {
+            throw new IllegalArgumentException("快捷键不能为空");
+        }
+
+        String imageBackend = props.getProperty("image.backend", "auto").trim().toLowerCase(Locale.ROOT);
+        if (!List.of("auto", "opencv", "vector").contains(imageBackend)) {
+            throw new IllegalArgumentException("未知的图片处理方式: " + imageBackend + "，可选 auto/opencv/vector");
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<PreprocessStrategy> strategies = parseStrategies(props.getProperty("ocr.strategies"));
+        OcrSettings ocr = new OcrSettings(
+                props.getProperty("ocr.language", "chi_sim").trim(),
+                parseFloat(props, "ocr.confidence.threshold", 70, 0, 100),
+                strategies,
+                parseInt(props, "ocr.strategy.threads", Math.max(Math.min(cores, strategies.size() - 1), 1), 1),
+                parseBoolean(props, "ocr.text.normalize", true),
+                parseBoolean(props, "ocr.text.table", false));
+        if (ocr.language().isEmpty()) {
+            throw new IllegalArgumentException("ocr.language不能为空");
+        }
+
+        TilingSettings tiling = new TilingSettings(
+                parseInt(props, "image.tiling.threads", cores, 1),
+                parseLong(props, "image.tiling.min-pixels", 2_000_000L));
+
+        return new AppConfig(hotkey, imageBackend, ocr, tiling);
+    }
+
+    // 解析策略列表，未配置时使用全部策略
+    private static List<PreprocessStrategy> parseStrategies(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of(PreprocessStrategy.values());
+        }
+        List<PreprocessStrategy> strategies = new ArrayList<>();
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) {
+                try {
+                    strategies.add(PreprocessStrategy.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("未知的预处理策略: " + name.trim());
+                }
+            }
+        }
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("ocr.strategies不能为空");
+        }
+        return List.copyOf(strategies);
+    }
+
+    private static int parseInt(Properties props, String key, int defaultValue, int min) {
+        long value = parseLong(props, key, defaultValue);
+        if (value < min || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(key + "必须不小于" + min + "，当前为: " + value);
+        }
+        return (int) value;
+    }
+
+    private static long parseLong(Properties props, String key, long defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException(key + "不能为负数，当前为: " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + "不是整数: " + value);
+        }
+    }
+
+    private static float parseFloat(Properties props, String key, float defaultValue, float min, float max) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            float parsed = Float.parseFloat(value.trim());
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(key + "必须在" + min + "~" + max + "之间，当前为: " + parsed);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + "不是数字: " + value);
+        }
+    }
+
+    private static boolean parseBoolean(Properties props, String key, boolean defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException(key + "只能是true或false，当前为: " + value);
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ocrtool.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * ConfigLoader
+ * <p>
+ * 读取config.properties，优先读取jar同目录下的外部配置，不存在时再从类路径读取
+ */
+public final class ConfigLoader {
+
+    // 配置文件名
+    public static final String CONFIG_FILE = "config.properties";
+
+    // 工具类不允许实例化
+    private ConfigLoader() {
+
+    }
+
+    /**
+     * 加载配置文件
+     */
+    public static Properties load() {
+        try {
+            // 创建配置文件对象
+            Properties props = new Properties();
+            // 先从外部配置文件读取（jar同目录）
+            File externalConfig = new File(CONFIG_FILE);
+            // 如果存在则优先读取外部的
+            if (externalConfig.exists()) {
+                try (InputStream in = new FileInputStream(externalConfig)) {
+                    props.load(in);
+                }
+            } else {
+                // 从类路径（target/classes/）查找文件并进行加载
+                try (InputStream in = ConfigLoader.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+                    if (in != null) {
+                        props.load(in);
+                    }
+                }
+            }
+            return props;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.ocrtool.config;
+
+import com.example.ocrtool.image.ImageBackend;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * ConfigService
+ * <p>
+ * 配置中心：启动时解析一次config.properties，之后各模块都从这里取强类型配置
+ * 调用startWatching后会用WatchService监听jar同目录下的外部配置文件，文件变化时重新解析并整体替换，
+ * 再通知各监听者（快捷键、OCR引擎、分块线程池等）应用变化，无需重启JVM
+ */
+@Slf4j
+public final class ConfigService {
+
+    // 编辑器保存时往往连续触发多次事件，在该时间内的事件合并为一次重新加载
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    // 当前配置
+    private static final AtomicReference<AppConfig> current = new AtomicReference<>(AppConfig.parse(ConfigLoader.load()));
+
+    // 配置变化监听者（旧配置，新配置）
+    private static final List<BiConsumer<AppConfig, AppConfig>> listeners = new CopyOnWriteArrayList<>();
+
+    // 监听线程
+    private static Thread watcher;
+
+    // 工具类不允许实例化
+    private ConfigService() {
+
+    }
+
+    /**
+     * 获取当前配置
+     */
+    public static AppConfig get() {
+        return current.get();
+    }
+
+    /**
+     * 注册配置变化监听者，只有配置内容真正变化时才会回调
+     */
+    public static void addListener(BiConsumer<AppConfig, AppConfig> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 开始监听外部配置文件
+     */
+    public static synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        Path file = Paths.get(ConfigLoader.CONFIG_FILE).toAbsolutePath();
+        watcher = new Thread(() -> watch(file), "config-watcher");
+        // 不阻止JVM退出
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("😊开始监听配置文件: " + file);
+    }
+
+    /**
+     * 重新加载配置，配置有误或无法应用时保留原配置
+     * <p>
+     * 先检查新配置在当前环境下是否可用，再替换并通知监听者；
+     * 某个监听者失败时恢复原配置，并让已经应用了新配置的监听者按相反顺序改回原配置
+     */
+    static void reload() {
+        AppConfig next;
+        try {
+            next = AppConfig.parse(ConfigLoader.load());
+            // 运行中切换预处理方式时，确认本地库或Vector模块可用
+            ImageBackend.resolve(next.imageBackend());
+        } catch (RuntimeException e) {
+            log.error("🤯配置文件有误，继续使用原配置: " + e.getMessage());
+            return;
+        }
+        AppConfig previous = current.get();
+        if (previous.equals(next)) {
+            return;
+        }
+        // 监听者可能通过get()读取配置，先替换再通知
+        current.set(next);
+        List<BiConsumer<AppConfig, AppConfig>> applied = new ArrayList<>();
+        for (BiConsumer<AppConfig, AppConfig> listener : listeners) {
+            try {
+                listener.accept(previous, next);
+                applied.add(listener);
+            } catch (RuntimeException e) {
+                log.error("🤯应用新配置失败，恢复原配置: " + e.getMessage());
+                current.set(previous);
+                rollback(applied, next, previous);
+                return;
+            }
+        }
+        log.info("😊配置已更新");
+    }
+
+    // 让已应用新配置的监听者按相反顺序改回原配置
+    private static void rollback(List<BiConsumer<AppConfig, AppConfig>> applied, AppConfig next, AppConfig previous) {
+        for (int i = applied.size() - 1; i >= 0; i--) {
+            try {
+                applied.get(i).accept(next, previous);
+            } catch (RuntimeException e) {
+                log.error("🤯恢复原配置失败: " + e.getMessage());
+            }
+        }
+    }
+
+    // 监听配置文件所在目录（WatchService只能监听目录）
+    private static void watch(Path file) {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            while (true) {
+                boolean changed = isConfigEvent(watchService.take(), file);
+                // 合并短时间内的连续事件
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isConfigEvent(key, file);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("🤯配置文件监听失败: " + e.getMessage());
+        }
+    }
+
+    // 判断事件是否与配置文件有关，并重置key以继续接收事件
+    private static boolean isConfigEvent(WatchKey key, Path file) {
+        boolean matched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (file.getFileName().equals(event.context())) {
+                matched = true;
+            }
+        }
+        key.reset();
+        return matched;
+    }
+}
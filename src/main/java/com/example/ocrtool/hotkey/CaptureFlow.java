@@ -0,0 +1,88 @@
+package com.example.ocrtool.hotkey;
+
+import com.example.ocrtool.ocr.OcrHandler;
+import com.example.ocrtool.screenshot.RegionSelector;
+import com.example.ocrtool.screenshot.ScreenCapture;
+import com.example.ocrtool.ui.ContentDisplay;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.function.Function;
+
+/**
+ * CaptureFlow
+ * <p>
+ * 快捷键触发后的完整流程：框选区域 → 截屏 → OCR → 展示
+ * 各环节都可以替换，回放测试时换成录制的事件和保存的帧图片，不需要真实桌面
+ * 每个环节的耗时会通知StageListener
+ */
+public class CaptureFlow {
+
+    // 环节名称
+    public static final String SELECT = "select";
+    public static final String CAPTURE = "capture";
+    public static final String OCR = "ocr";
+    public static final String DISPLAY = "display";
+    public static final String TOTAL = "total";
+
+    /**
+     * 环节耗时监听
+     */
+    @FunctionalInterface
+    public interface StageListener {
+        void onStage(String stage, long nanos);
+    }
+
+    private final RegionSelector selector;
+    private final ScreenCapture capture;
+    private final Function<BufferedImage, String> ocr;
+    private final ContentDisplay display;
+    private final StageListener listener;
+
+    public CaptureFlow(RegionSelector selector, ScreenCapture capture, Function<BufferedImage, String> ocr,
+                       ContentDisplay display, StageListener listener) {
+        this.selector = selector;
+        this.capture = capture;
+        this.ocr = ocr;
+        this.display = display;
+        this.listener = listener;
+    }
+
+    /**
+     * 桌面环境下的流程
+     */
+    public static CaptureFlow desktop() {
+        return new CaptureFlow(RegionSelector.desktop(), ScreenCapture.desktop(), OcrHandler::identifyContext,
+                ContentDisplay.desktop(), (stage, nanos) -> {
+        });
+    }
+
+    /**
+     * 执行一次完整流程
+     */
+    public void run() throws AWTException, InterruptedException {
+        long start = System.nanoTime();
+        // 阻塞进程开始截屏
+        Rectangle rectangle = selector.select();
+        long selected = System.nanoTime();
+        listener.onStage(SELECT, selected - start);
+        // 用户取消选择
+        if (rectangle == null) {
+            return;
+        }
+        // 截取选中区域
+        BufferedImage image = capture.capture(rectangle);
+        long captured = System.nanoTime();
+        listener.onStage(CAPTURE, captured - selected);
+        // 识别内容
+        String context = ocr.apply(image);
+        long recognized = System.nanoTime();
+        listener.onStage(OCR, recognized - captured);
+        // 展示内容
+        display.show(context);
+        long displayed = System.nanoTime();
+        listener.onStage(DISPLAY, displayed - recognized);
+        // 总耗时不含用户框选的时间
+        listener.onStage(TOTAL, displayed - selected);
+    }
+}
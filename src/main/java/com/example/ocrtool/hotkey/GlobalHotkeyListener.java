@@ -1,15 +1,12 @@
 package com.example.ocrtool.hotkey;
 
-import com.example.ocrtool.ocr.OcrHandler;
-import com.example.ocrtool.screenshot.ScreenSelectionWindow;
-import com.example.ocrtool.ui.GUIUtils;
+import com.example.ocrtool.config.ConfigService;
 import com.github.kwhat.jnativehook.GlobalScreen;
 import com.github.kwhat.jnativehook.NativeHookException;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyListener;
 import lombok.extern.slf4j.Slf4j;
 
-import java.awt.*;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.logging.Level;
@@ -30,11 +27,26 @@ public class GlobalHotkeyListener implements NativeKeyListener {
     // 按下按键集合
     private final Set<Integer> pressedKeys = new HashSet<>();
 
-    // 目标按键集合
-    private final Set<Integer> targetKeys = new HashSet<>();
+    // 目标按键集合（不可变，配置变化时整体替换）
+    private volatile Set<Integer> targetKeys;
+
+    // 快捷键触发后执行的流程
+    private final CaptureFlow flow;
 
     public GlobalHotkeyListener(Set<Integer> targetKeys) {
-        this.targetKeys.addAll(targetKeys);
+        this(targetKeys, CaptureFlow.desktop());
+    }
+
+    public GlobalHotkeyListener(Set<Integer> targetKeys, CaptureFlow flow) {
+        this.targetKeys = Set.copyOf(targetKeys);
+        this.flow = flow;
+    }
+
+    /**
+     * 更换快捷键
+     */
+    public void updateTargetKeys(Set<Integer> targetKeys) {
+        this.targetKeys = Set.copyOf(targetKeys);
     }
 
     /**
@@ -44,8 +56,19 @@ public class GlobalHotkeyListener implements NativeKeyListener {
      */
     @Override
     public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+        onKeyReleased(nativeEvent.getKeyCode());
+    }
+
+    /**
+     * 处理按键释放（回放时直接传入录制的按键编码）
+     *
+     * @param keyCode 按键编码
+     */
+    public void onKeyReleased(int keyCode) {
+        // 读取一次，保证本次判断使用同一组快捷键
+        Set<Integer> targetKeys = this.targetKeys;
         // 将按键加入Set集合
-        pressedKeys.add(nativeEvent.getKeyCode());
+        pressedKeys.add(keyCode);
         // 如果已按集合长度大于目标集合长度则清空，避免误触截图
         if (pressedKeys.size() > targetKeys.size()) {
             // 清空集合
@@ -53,16 +76,9 @@ public class GlobalHotkeyListener implements NativeKeyListener {
         }
         // 如果全部按键都在集合中，则触发快捷键
         if (pressedKeys.containsAll(targetKeys)) {
-            ScreenSelectionWindow window = null;
             try {
-                // 创建屏幕对象
-                window = new ScreenSelectionWindow();
-                // 阻塞进程开始截屏
-                Rectangle rectangle = window.select();
-                // 识别内容
-                String context = OcrHandler.identifyContext(rectangle);
-                // 展示内容
-                GUIUtils.contentShow(context);
+                // 框选、截屏、识别并展示
+                flow.run();
             } catch (Exception e) {
                 log.error(e.getMessage());
             } finally {
@@ -79,21 +95,32 @@ public class GlobalHotkeyListener implements NativeKeyListener {
             // 屏蔽日志
             logger.setLevel(Level.OFF);
 
-            // 根据编码获取快捷键字符串
-            String originHotkey = hotkey.stream()
-                    .map(NativeKeyEvent::getKeyText)
-                    .collect(Collectors.joining("+"));
             // 注册快捷键监听
             GlobalScreen.registerNativeHook();
             // 添加监听对象（只有hotkey才会触发nativeKeyReleased）
-            GlobalScreen.addNativeKeyListener(new GlobalHotkeyListener(hotkey));
+            GlobalHotkeyListener listener = new GlobalHotkeyListener(hotkey);
+            GlobalScreen.addNativeKeyListener(listener);
+            // 配置文件中的快捷键变化时直接替换，无需重启
+            ConfigService.addListener((previous, current) -> {
+                if (!previous.hotkey().equals(current.hotkey())) {
+                    listener.updateTargetKeys(current.hotkey());
+                    log.info("😊快捷键已更新为:" + hotkeyText(current.hotkey()));
+                }
+            });
 
-            log.info("😊全局快捷键监听已启动，您当前的快捷键是:" + originHotkey);
+            log.info("😊全局快捷键监听已启动，您当前的快捷键是:" + hotkeyText(hotkey));
         } catch (NativeHookException e) {
             log.error("🤯全局快捷键监听启动失败");
         }
     }
 
+    // 根据编码获取快捷键字符串
+    private static String hotkeyText(Set<Integer> hotkey) {
+        return hotkey.stream()
+                .map(NativeKeyEvent::getKeyText)
+                .collect(Collectors.joining("+"));
+    }
+
     /**
      * 停止全局快捷键监听
      */
@@ -0,0 +1,151 @@
+package com.example.ocrtool.image;
+
+/**
+ * GrayHistogram
+ * <p>
+ * 灰度直方图，只遍历一次图片，之后所有统计量都在256个桶上计算：
+ * Otsu阈值：类间方差最大的灰度值，像素大于阈值为亮类，否则为暗类
+ * 背景极性：像素更多的一类视为背景，暗类更多说明是深色主题（浅色文字深色背景）
+ * 对比度：亮类均值与暗类均值之差，归一化到0~1，越小说明文字和背景越难区分
+ */
+public final class GrayHistogram {
+
+    // 每个灰度值的像素数
+    private final int[] counts;
+
+    // 像素总数
+    private final int total;
+
+    // Otsu阈值
+    private final int otsuThreshold;
+
+    // 是否为深色背景
+    private final boolean darkBackground;
+
+    // 对比度（0~1）
+    private final double contrast;
+
+    private GrayHistogram(int[] counts, int total) {
+        this.counts = counts;
+        this.total = total;
+
+        double sum = 0;
+        for (int i = 0; i < 256; i++) {
+            sum += (double) i * counts[i];
+        }
+        // 求Otsu阈值，同时记下该阈值下两类的像素数和均值
+        double sumDark = 0;
+        int weightDark = 0;
+        double maxVariance = -1;
+        int threshold = 0;
+        int darkCount = total;
+        double darkMean = total == 0 ? 0 : sum / total;
+        double lightMean = darkMean;
+        for (int t = 0; t < 256; t++) {
+            weightDark += counts[t];
+            sumDark += (double) t * counts[t];
+            int weightLight = total - weightDark;
+            if (weightDark == 0) {
+                continue;
+            }
+            if (weightLight == 0) {
+                break;
+            }
+            double meanDark = sumDark / weightDark;
+            double meanLight = (sum - sumDark) / weightLight;
+            double diff = meanLight - meanDark;
+            double variance = (double) weightDark * weightLight * diff * diff;
+            if (variance > maxVariance) {
+                maxVariance = variance;
+                threshold = t;
+                darkCount = weightDark;
+                darkMean = meanDark;
+                lightMean = meanLight;
+            }
+        }
+        this.otsuThreshold = threshold;
+        // 纯色图无法分类，按整体亮度判断
+        this.darkBackground = maxVariance < 0 ? darkMean < 128 : darkCount > total - darkCount;
+        // 纯色图两类均值相同，对比度为0
+        this.contrast = (lightMean - darkMean) / 255.0;
+    }
+
+    /**
+     * 统计单通道灰度像素（无符号byte）
+     * <p>
+     * 交替写入4个子直方图，避免相邻像素灰度相同时连续读写同一个桶造成的流水线停顿
+     */
+    public static GrayHistogram of(byte[] pixels) {
+        int[] h0 = new int[256];
+        int[] h1 = new int[256];
+        int[] h2 = new int[256];
+        int[] h3 = new int[256];
+        int i = 0;
+        for (; i + 3 < pixels.length; i += 4) {
+            h0[pixels[i] & 0xFF]++;
+            h1[pixels[i + 1] & 0xFF]++;
+            h2[pixels[i + 2] & 0xFF]++;
+            h3[pixels[i + 3] & 0xFF]++;
+        }
+        for (; i < pixels.length; i++) {
+            h0[pixels[i] & 0xFF]++;
+        }
+        for (int v = 0; v < 256; v++) {
+            h0[v] += h1[v] + h2[v] + h3[v];
+        }
+        return new GrayHistogram(h0, pixels.length);
+    }
+
+    /**
+     * 由已经统计好的256个桶创建（如OpenCV calcHist的结果）
+     */
+    public static GrayHistogram of(int[] counts) {
+        if (counts.length != 256) {
+            throw new IllegalArgumentException("直方图必须是256个桶，当前为: " + counts.length);
+        }
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return new GrayHistogram(counts.clone(), total);
+    }
+
+    /**
+     * 反相（255 - 像素值）后的直方图，只需把桶倒序，不用重新统计图片
+     */
+    public GrayHistogram inverted() {
+        int[] reversed = new int[256];
+        for (int i = 0; i < 256; i++) {
+            reversed[255 - i] = counts[i];
+        }
+        return new GrayHistogram(reversed, total);
+    }
+
+    /**
+     * 某个灰度值的像素数
+     */
+    public int count(int level) {
+        return counts[level];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getOtsuThreshold() {
+        return otsuThreshold;
+    }
+
+    public boolean isDarkBackground() {
+        return darkBackground;
+    }
+
+    public double getContrast() {
+        return contrast;
+    }
+
+    @Override
+    public String toString() {
+        return "阈值=" + otsuThreshold + "，深色背景=" + darkBackground + "，对比度=" + String.format("%.2f", contrast);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ocrtool.image;
+
+import com.example.ocrtool.config.ConfigService;
+import com.example.ocrtool.opencv.ImageOptimizationHandler;
+import com.example.ocrtool.utils.PathDiagnostic;
+import com.example.ocrtool.vector.VectorImageHandler;
+
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+/**
+ * ImageBackend
+ * <p>
+ * 图片预处理的实现方式，通过config.properties中的image.backend选择：
+ * auto（默认）：OpenCV本地库加载成功时使用OpenCV，否则使用纯Java实现
+ * opencv：强制使用OpenCV，需要本地库
+ * vector：使用jdk.incubator.vector实现的纯Java版本，不依赖任何本地库，启动时需加 --add-modules jdk.incubator.vector
+ */
+public enum ImageBackend {
+    OPENCV,
+    VECTOR;
+
+    // 自动选择
+    private static final String AUTO = "auto";
+
+    // 纯Java实现依赖的孵化模块
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * 根据当前实现方式创建预处理对象
+     */
+    public ImagePreprocessor create(BufferedImage bufferedImage) {
+        return switch (this) {
+            case OPENCV -> new ImageOptimizationHandler(bufferedImage);
+            case VECTOR -> new VectorImageHandler(bufferedImage);
+        };
+    }
+
+    /**
+     * 读取配置中的原始值（auto/opencv/vector）
+     */
+    public static String configured() {
+        return ConfigService.get().imageBackend();
+    }
+
+    /**
+     * 解析出当前应使用的实现方式
+     */
+    public static ImageBackend current() {
+        return resolve(configured());
+    }
+
+    /**
+     * 解析出某个配置值对应的实现方式，当前环境不可用时抛出IllegalStateException
+     */
+    public static ImageBackend resolve(String value) {
+        ImageBackend backend = AUTO.equals(value)
+                ? PathDiagnostic.isOpenCvLoaded() ? OPENCV : VECTOR
+                : valueOf(value.toUpperCase(Locale.ROOT));
+        // 本地库只在启动时加载，运行中切换到opencv时需要确认已经加载过
+        if (backend == OPENCV && !PathDiagnostic.isOpenCvLoaded()) {
+            throw new IllegalStateException("😒OpenCV本地库未加载，无法使用opencv方式");
+        }
+        // jar的MANIFEST无法添加模块，缺少该模块时每次截图都会抛出NoClassDefFoundError，这里提前报错
+        if (backend == VECTOR && !isVectorAvailable()) {
+            throw new IllegalStateException("😒" + (AUTO.equals(value) ? "OpenCV本地库未加载，" : "")
+                    + "纯Java实现需要" + VECTOR_MODULE + "模块，请使用 java --add-modules " + VECTOR_MODULE + " -jar ... 启动");
+        }
+        return backend;
+    }
+
+    /**
+     * jdk.incubator.vector模块是否已加入启动模块
+     */
+    public static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
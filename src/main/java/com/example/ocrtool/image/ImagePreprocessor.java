@@ -0,0 +1,56 @@
+package com.example.ocrtool.image;
+
+import org.opencv.core.Size;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * ImagePreprocessor
+ * <p>
+ * OCR前的图片预处理步骤，OpenCV和纯Java（Vector API）两种实现都遵循同一套接口
+ * 这里的Size只是OpenCV jar中的普通Java类，不会触发本地库加载
+ */
+public interface ImagePreprocessor {
+
+    /**
+     * 彩色图 → 灰度图
+     */
+    void toGray();
+
+    /**
+     * 高斯模糊去噪
+     */
+    void denoise(Size ksize);
+
+    /**
+     * Otsu二极化
+     * <p>
+     * 阈值和背景极性都取自同一份直方图，输出统一为浅色背景深色文字
+     */
+    void binarize();
+
+    /**
+     * 去噪点+填补断裂
+     */
+    void morphClose(Size size);
+
+    /**
+     * 黑白反相（深色背景浅色文字 → 浅色背景深色文字）
+     */
+    void invert();
+
+    /**
+     * 根据直方图判断背景极性，深色背景时自动反相
+     */
+    void normalizePolarity();
+
+    /**
+     * 当前灰度图的直方图，图片未变化时重复调用不会重新统计
+     */
+    GrayHistogram histogram();
+
+    /**
+     * 获取BufferedImage对象
+     */
+    BufferedImage getBufferedImage();
+}
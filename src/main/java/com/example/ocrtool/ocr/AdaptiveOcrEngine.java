@@ -0,0 +1,204 @@
+package com.example.ocrtool.ocr;
+
+import com.example.ocrtool.config.AppConfig;
+import com.example.ocrtool.image.ImageBackend;
+import com.example.ocrtool.image.ImagePreprocessor;
+import com.example.ocrtool.text.TableExtractor;
+import com.example.ocrtool.text.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.ITesseract;
+import net.sourceforge.tess4j.Word;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * AdaptiveOcrEngine
+ * <p>
+ * 根据置信度自适应选择预处理策略：
+ * 1. 先在当前线程用默认策略（配置中的第一个，通常是开销最小的FAST）识别一次；
+ *    FAST预处理后的直方图显示对比度很低时，直接在其结果上二极化，改用BINARIZE识别
+ * 2. 平均置信度达到阈值则直接返回（绝大多数情况）；没有识别出任何文字时也直接返回
+ * 3. 否则把其余策略并行跑一遍，取置信度最高的结果
+ * 识别结果按配置做后处理（TextNormalizer）或按表格输出TSV（TableExtractor）
+ * 配置变化时由OcrHandler创建新的引擎替换，引擎本身的配置不会变化
+ * Tesseract对象不是线程安全的，所以每个线程各自持有一个
+ */
+@Slf4j
+public class AdaptiveOcrEngine {
+
+    // 对比度（亮暗两类均值之差，0~1）低于该值视为低对比度截图，如浅灰色文字、褪色的扫描件
+    private static final double LOW_CONTRAST = 0.3;
+
+    // 每个线程一个Tesseract对象
+    private final ThreadLocal<ITesseract> tesseract;
+
+    // 图片预处理实现方式
+    private final ImageBackend backend;
+
+    // 置信度阈值（0~100），低于该值才升级
+    private final float threshold;
+
+    // 预处理策略，第一个为默认策略
+    private final List<PreprocessStrategy> strategies;
+
+    // 是否对识别结果做后处理
+    private final boolean normalizeText;
+
+    // 是否按单词位置识别表格
+    private final boolean tableTsv;
+
+    // 并行执行升级策略的线程池
+    private final ExecutorService executor;
+
+    // 策略命中统计（引擎替换后继续累计）
+    private final StrategyStats stats;
+
+    public AdaptiveOcrEngine(Supplier<ITesseract> tesseractFactory, ImageBackend backend, AppConfig.OcrSettings settings,
+                             StrategyStats stats) {
+        this.tesseract = ThreadLocal.withInitial(tesseractFactory);
+        this.backend = backend;
+        this.threshold = settings.confidenceThreshold();
+        this.strategies = settings.strategies();
+        this.normalizeText = settings.normalizeText();
+        this.tableTsv = settings.tableTsv();
+        this.stats = stats;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(settings.threads(), runnable -> {
+            Thread thread = new Thread(runnable, "ocr-strategy-" + counter.incrementAndGet());
+            // 不阻止JVM退出
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 识别截图内容
+     */
+    public OcrResult recognize(BufferedImage capture) {
+        PreprocessStrategy first = strategies.get(0);
+        ImagePreprocessor image = first.prepare(backend, capture);
+        if (first == PreprocessStrategy.FAST && strategies.contains(PreprocessStrategy.BINARIZE)) {
+            // FAST结束时直方图还在缓存中，取对比度不需要再统计
+            double contrast = image.histogram().getContrast();
+            if (contrast < LOW_CONTRAST) {
+                // FAST对低对比度截图基本识别不出来，在它的结果（灰度+去噪）上二极化，即BINARIZE策略
+                log.info("🤔截图对比度{}低于{}，直接使用{}", String.format("%.2f", contrast), LOW_CONTRAST,
+                        PreprocessStrategy.BINARIZE);
+                image.binarize();
+                first = PreprocessStrategy.BINARIZE;
+            }
+        }
+        OcrResult best = run(first, image.getBufferedImage());
+        // 一个字都没识别出来（空白区域、getWords失败）时置信度为0，但换策略也不会有结果，不升级
+        boolean escalated = !best.text().isBlank() && best.confidence() < threshold && strategies.size() > 1;
+        if (escalated) {
+            OcrResult fast = best;
+            // 并行执行其余策略
+            List<Future<OcrResult>> futures = new ArrayList<>();
+            try {
+                for (PreprocessStrategy strategy : strategies) {
+                    // 跳过默认策略和已经执行过的策略
+                    if (strategy != strategies.get(0) && strategy != first) {
+                        futures.add(executor.submit(() -> run(strategy, strategy.apply(backend, capture))));
+                    }
+                }
+            } catch (RejectedExecutionException e) {
+                // 配置变化导致引擎被替换，已提交的策略仍然有效
+                log.warn("🤯引擎已关闭，跳过剩余预处理策略");
+            }
+            // 保留置信度最高的结果，相同时保留开销更低的
+            for (Future<OcrResult> future : futures) {
+                try {
+                    OcrResult result = future.get();
+                    if (result.confidence() > best.confidence()) {
+                        best = result;
+                    }
+                } catch (ExecutionException e) {
+                    log.warn("🤯预处理策略执行失败: " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(f -> f.cancel(true));
+                    break;
+                }
+            }
+            log.info("🤔{}置信度{}低于阈值{}，最终采用{}（置信度{}）", fast.strategy(), fast.confidence(), threshold,
+                    best.strategy(), best.confidence());
+        }
+        stats.recordRecognition(escalated);
+        stats.recordHit(best.strategy());
+        if (escalated) {
+            log.info("策略命中统计: " + stats);
+        }
+        return best;
+    }
+
+    /**
+     * 识别一张已经按指定策略预处理好的图片
+     * <p>
+     * 按文本行获取结果，一次OCR同时拿到文本和置信度；行置信度按非空白字符数加权，近似为平均单词置信度
+     * 开启表格识别时改为按单词获取，用单词边界框还原行和列
+     */
+    private OcrResult run(PreprocessStrategy strategy, BufferedImage image) {
+        stats.recordRun(strategy);
+        int level = tableTsv ? ITessAPI.TessPageIteratorLevel.RIL_WORD : ITessAPI.TessPageIteratorLevel.RIL_TEXTLINE;
+        List<Word> words = tesseract.get().getWords(image, level);
+        double confidenceSum = 0;
+        long weight = 0;
+        for (Word word : words) {
+            long chars = word.getText().chars().filter(c -> !Character.isWhitespace(c)).count();
+            confidenceSum += word.getConfidence() * chars;
+            weight += chars;
+        }
+        float confidence = weight == 0 ? 0 : (float) (confidenceSum / weight);
+        return new OcrResult(toText(words), confidence, strategy);
+    }
+
+    /**
+     * 把识别结果拼成文本，按配置识别表格和做后处理
+     */
+    private String toText(List<Word> words) {
+        List<String> lines = new ArrayList<>();
+        if (tableTsv) {
+            Optional<String> tsv = TableExtractor.toTsv(words, normalizeText);
+            if (tsv.isPresent()) {
+                return tsv.get();
+            }
+            // 不是表格，按单词位置拼回文本行
+            for (List<Word> row : TableExtractor.rows(words)) {
+                lines.add(TableExtractor.rowText(row));
+            }
+        } else {
+            for (Word line : words) {
+                lines.add(line.getText());
+            }
+        }
+        if (normalizeText) {
+            TextNormalizer normalizer = new TextNormalizer();
+            lines.forEach(normalizer::accept);
+            return normalizer.finish();
+        }
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line.stripTrailing()).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * 关闭线程池，已提交的任务会执行完
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
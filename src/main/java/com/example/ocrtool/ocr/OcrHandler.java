@@ -1,13 +1,13 @@
 package com.example.ocrtool.ocr;
 
-import com.example.ocrtool.opencv.ImageOptimizationHandler;
+import com.example.ocrtool.config.AppConfig;
+import com.example.ocrtool.config.ConfigService;
+import com.example.ocrtool.image.ImageBackend;
 import com.example.ocrtool.utils.PathDiagnostic;
 import lombok.extern.slf4j.Slf4j;
 import net.sourceforge.tess4j.ITesseract;
 import net.sourceforge.tess4j.Tesseract;
-import org.opencv.core.Size;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 
 /**
@@ -16,41 +16,75 @@ import java.awt.image.BufferedImage;
 @Slf4j
 public class OcrHandler {
 
-    private static final ITesseract tesseract;
+    // 训练数据路径
+    private static final String tessDataPath;
+
+    // 策略命中统计
+    private static final StrategyStats stats = new StrategyStats();
+
+    // 自适应OCR引擎，配置变化时整体替换
+    private static volatile AdaptiveOcrEngine engine;
 
     static {
-        // 创建OCR对象
-        tesseract = new Tesseract();
         try {
-            // 设置训练数据路径
-            tesseract.setDatapath(PathDiagnostic.getTessDataPath());
-            // 设置中文
-            tesseract.setLanguage("chi_sim");
+            // 获取训练数据路径
+            tessDataPath = PathDiagnostic.getTessDataPath();
         } catch (Exception e) {
             throw new RuntimeException("😭初始化OCR失败");
         }
+        // 创建OCR引擎
+        engine = createEngine(ConfigService.get());
+        // 语言、策略、阈值、线程数或预处理方式变化时重建引擎
+        ConfigService.addListener((previous, current) -> {
+            if (!previous.ocr().equals(current.ocr()) || !previous.imageBackend().equals(current.imageBackend())) {
+                AdaptiveOcrEngine old = engine;
+                engine = createEngine(current);
+                old.shutdown();
+            }
+        });
+    }
+
+    /**
+     * 根据配置创建OCR引擎
+     */
+    private static AdaptiveOcrEngine createEngine(AppConfig config) {
+        // 确定图片预处理方式
+        ImageBackend backend = ImageBackend.current();
+        AppConfig.OcrSettings settings = config.ocr();
+        log.info("图片预处理方式: {}，OCR语言: {}，预处理策略: {}", backend, settings.language(), settings.strategies());
+        return new AdaptiveOcrEngine(() -> createTesseract(settings.language()), backend, settings, stats);
+    }
+
+    /**
+     * 创建OCR对象（每个线程各自创建一个）
+     */
+    private static ITesseract createTesseract(String language) {
+        ITesseract tesseract = new Tesseract();
+        // 设置训练数据路径
+        tesseract.setDatapath(tessDataPath);
+        // 设置语言
+        tesseract.setLanguage(language);
+        return tesseract;
     }
 
     /**
-     * 识别内容
+     * 识别截图内容
      */
-    public static String identifyContext(Rectangle rectangle) throws AWTException {
-        Robot robot = new Robot();
+    public static String identifyContext(BufferedImage captureImage) {
         try {
-            // 创建屏幕捕获对象
-            BufferedImage captureImage = robot.createScreenCapture(rectangle);
-            // 创建图片优化对象
-            ImageOptimizationHandler image = new ImageOptimizationHandler(captureImage);
-            // 转化为灰度图
-            image.toGray();
-            // 高斯去噪
-            image.denoise(new Size(3, 3));
-            // 进行OCR识别
-            return tesseract.doOCR(captureImage);
+            // 预处理并进行OCR识别，置信度不足时自动尝试其他预处理策略
+            return engine.recognize(captureImage).text();
         } catch (Exception e) {
             e.printStackTrace();
             // 用于给上层捕获异常
             throw new RuntimeException("😒OCR失败");
         }
     }
+
+    /**
+     * 获取策略命中统计
+     */
+    public static StrategyStats getStats() {
+        return stats;
+    }
 }
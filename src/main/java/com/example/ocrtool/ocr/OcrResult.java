@@ -0,0 +1,9 @@
+package com.example.ocrtool.ocr;
+
+/**
+ * OcrResult
+ * <p>
+ * 一次OCR的结果：识别出的文本、平均置信度（0~100）以及所用的预处理策略
+ */
+public record OcrResult(String text, float confidence, PreprocessStrategy strategy) {
+}
@@ -0,0 +1,91 @@
+package com.example.ocrtool.ocr;
+
+import com.example.ocrtool.image.ImageBackend;
+import com.example.ocrtool.image.ImagePreprocessor;
+import org.opencv.core.Size;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * PreprocessStrategy
+ * <p>
+ * OCR前的预处理策略，按开销从低到高排列
+ * FAST是默认策略，只有它的置信度不够时才会并行尝试后面的策略
+ */
+public enum PreprocessStrategy {
+    // 灰度+去噪+极性校正，大部分清晰截图用这个就够了
+    // 极性校正放在最后，结束时直方图仍在缓存中（反相只把直方图倒序），引擎可以直接取对比度
+    FAST(1, image -> {
+        image.toGray();
+        image.denoise(new Size(3, 3));
+        image.normalizePolarity();
+    }),
+    // 再加Otsu二极化，适合背景有渐变或底纹的截图
+    BINARIZE(1, image -> {
+        image.toGray();
+        image.denoise(new Size(3, 3));
+        image.binarize();
+    }),
+    // 二极化后闭运算，填补笔画断裂
+    MORPH_CLOSE(1, image -> {
+        image.toGray();
+        image.denoise(new Size(3, 3));
+        image.binarize();
+        image.morphClose(new Size(2, 2));
+    }),
+    // 放大两倍，适合字号很小的截图
+    UPSCALE(2, image -> {
+        image.toGray();
+        image.denoise(new Size(3, 3));
+        image.binarize();
+    }),
+    // 二极化后再反相，用于自动极性判断出错的情况（如深色主题中大块浅色区域）
+    INVERT(1, image -> {
+        image.toGray();
+        image.denoise(new Size(3, 3));
+        image.binarize();
+        image.invert();
+    });
+
+    // 放大倍数
+    private final int scale;
+
+    // 预处理步骤
+    private final Consumer<ImagePreprocessor> steps;
+
+    PreprocessStrategy(int scale, Consumer<ImagePreprocessor> steps) {
+        this.scale = scale;
+        this.steps = steps;
+    }
+
+    /**
+     * 对截图执行该策略，返回交给OCR的图片
+     */
+    public BufferedImage apply(ImageBackend backend, BufferedImage capture) {
+        return prepare(backend, capture).getBufferedImage();
+    }
+
+    /**
+     * 对截图执行该策略，返回预处理对象，便于继续读取直方图或追加步骤
+     */
+    public ImagePreprocessor prepare(ImageBackend backend, BufferedImage capture) {
+        ImagePreprocessor image = backend.create(scale > 1 ? upscale(capture, scale) : capture);
+        steps.accept(image);
+        return image;
+    }
+
+    // 双三次插值放大
+    private static BufferedImage upscale(BufferedImage source, int scale) {
+        BufferedImage scaled = new BufferedImage(source.getWidth() * scale, source.getHeight() * scale, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.drawImage(source, 0, 0, scaled.getWidth(), scaled.getHeight(), null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+}
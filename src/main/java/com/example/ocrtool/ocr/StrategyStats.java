@@ -0,0 +1,69 @@
+package com.example.ocrtool.ocr;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * StrategyStats
+ * <p>
+ * 记录每个预处理策略的执行次数和被选中次数，用于后续调整默认策略和置信度阈值
+ */
+public class StrategyStats {
+
+    // 识别总次数
+    private final LongAdder recognitions = new LongAdder();
+
+    // 默认策略置信度不足、触发升级的次数
+    private final LongAdder escalations = new LongAdder();
+
+    // 每个策略的执行次数
+    private final Map<PreprocessStrategy, LongAdder> runs = new EnumMap<>(PreprocessStrategy.class);
+
+    // 每个策略的结果被最终采用的次数
+    private final Map<PreprocessStrategy, LongAdder> hits = new EnumMap<>(PreprocessStrategy.class);
+
+    public StrategyStats() {
+        // 提前放好所有key，之后只读map，多线程累加是安全的
+        for (PreprocessStrategy strategy : PreprocessStrategy.values()) {
+            runs.put(strategy, new LongAdder());
+            hits.put(strategy, new LongAdder());
+        }
+    }
+
+    public void recordRecognition(boolean escalated) {
+        recognitions.increment();
+        if (escalated) {
+            escalations.increment();
+        }
+    }
+
+    public void recordRun(PreprocessStrategy strategy) {
+        runs.get(strategy).increment();
+    }
+
+    public void recordHit(PreprocessStrategy strategy) {
+        hits.get(strategy).increment();
+    }
+
+    public long hits(PreprocessStrategy strategy) {
+        return hits.get(strategy).sum();
+    }
+
+    public long runs(PreprocessStrategy strategy) {
+        return runs.get(strategy).sum();
+    }
+
+    /**
+     * 统计摘要，例如：识别 10 次，升级 3 次；FAST 7/10，BINARIZE 1/3 ...（采用次数/执行次数）
+     */
+    @Override
+    public String toString() {
+        String detail = Stream.of(PreprocessStrategy.values())
+                .map(s -> s + " " + hits(s) + "/" + runs(s))
+                .collect(Collectors.joining("，"));
+        return "识别 " + recognitions.sum() + " 次，升级 " + escalations.sum() + " 次；" + detail;
+    }
+}
@@ -1,31 +1,52 @@
 package com.example.ocrtool.opencv;
 
+import com.example.ocrtool.image.GrayHistogram;
+import com.example.ocrtool.image.ImagePreprocessor;
+import org.opencv.core.Core;
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
+import org.opencv.core.MatOfFloat;
+import org.opencv.core.MatOfInt;
 import org.opencv.core.Size;
 import org.opencv.imgproc.Imgproc;
 
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 
 /**
  * ImageOptimizationHandler
  * <p>
  * 如果图片类型是 3BYTE_BGR（底层就是 BGR），直接用底层字节
  * 如果不是则通过 getRGB -> ARGB int -> 填充 BGR bytes
+ * 图片足够大时，各处理步骤会交给TiledProcessor按行分块并行执行
  */
-public class ImageOptimizationHandler {
+public class ImageOptimizationHandler implements ImagePreprocessor {
     // Mat格式对象
     private Mat mat;
 
+    // 当前灰度图的直方图，图片变化后置空
+    private GrayHistogram histogram;
+
+    // 大图分块并行处理，为null时每一步都使用当前的共享实例（配置变化后立即生效）
+    private final TiledProcessor tiles;
+
     static {
 
     }
 
     // 构造图片对象
     public ImageOptimizationHandler(BufferedImage bufferedImage) {
+        this(bufferedImage, null);
+    }
+
+    // 构造图片对象，并指定分块处理方式
+    public ImageOptimizationHandler(BufferedImage bufferedImage, TiledProcessor tiles) {
         // 转化格式
         this.mat = this.bufferedImageToMat(bufferedImage);
+        this.tiles = tiles;
     }
 
     /**
@@ -70,13 +91,12 @@ public class ImageOptimizationHandler {
      * 灰度图则只有一个通道，每个像素点的值在 0~255 之间，0 表示黑色，255 表示白色，中间就是不同深浅的灰色
      * 在这里用于区分文字和背景，使OCR提取内容更精确
      */
+    @Override
     public void toGray() {
-        Mat gray = new Mat();
         // 如果是彩色图则进行转换
         if (this.mat.channels() > 1) {
             // 转化成灰度图
-            Imgproc.cvtColor(this.mat, gray, Imgproc.COLOR_BGR2GRAY);
-            this.mat = gray;
+            process(CvType.CV_8UC1, 0, (src, gray) -> Imgproc.cvtColor(src, gray, Imgproc.COLOR_BGR2GRAY));
         }
     }
 
@@ -95,36 +115,87 @@ public class ImageOptimizationHandler {
      * 用这个像素分别乘以上述的核矩阵再进行归一化（除16），得到新的中心像素点为137（达成去噪效果）
      * 在这里主要是用于去噪，高斯核数太高会去除字的笔画，会丢失关键结构，不利于OCR识别，建议3*3
      */
+    @Override
     public void denoise(Size ksize) {
-        Mat blurred = new Mat();
-        // 去噪
-        Imgproc.GaussianBlur(this.mat, blurred, ksize, 0);
-        this.mat = blurred;
+        // 去噪（分块时上下各多取半个核）
+        int halo = (int) Math.max(ksize.width, ksize.height) / 2;
+        process(this.mat.type(), halo, (src, blurred) -> Imgproc.GaussianBlur(src, blurred, ksize, 0));
     }
 
     /**
      * Otsu二极化
+     * <p>
+     * 阈值取自直方图，不再让OpenCV重新统计一遍（THRESH_OTSU）
+     * 深色背景时用THRESH_BINARY_INV，一次完成反相和二极化
      */
+    @Override
     public void binarize() {
-        Mat binary = new Mat();
-        // 二极化处理
-        Imgproc.threshold(this.mat, binary, 0, 255, Imgproc.THRESH_BINARY + Imgproc.THRESH_OTSU);
-        this.mat = binary;
+        GrayHistogram hist = histogram();
+        int type = hist.isDarkBackground() ? Imgproc.THRESH_BINARY_INV : Imgproc.THRESH_BINARY;
+        // 二极化处理（阈值是整图统计的，分块处理也不会出现接缝）
+        process(this.mat.type(), 0, (src, binary) -> Imgproc.threshold(src, binary, hist.getOtsuThreshold(), 255, type));
     }
 
     /**
      * 去噪点+填补断裂
      */
+    @Override
     public void morphClose(Size size) {
-        Mat morphed = new Mat();
         Mat kernel = Imgproc.getStructuringElement(Imgproc.MORPH_RECT, size);
-        Imgproc.morphologyEx(this.mat, morphed, Imgproc.MORPH_CLOSE, kernel);
-        this.mat = morphed;
+        // 闭运算是膨胀+腐蚀两次，分块时上下各多取一个核
+        int halo = (int) Math.max(size.width, size.height);
+        process(this.mat.type(), halo, (src, morphed) -> Imgproc.morphologyEx(src, morphed, Imgproc.MORPH_CLOSE, kernel));
+    }
+
+    /**
+     * 黑白反相
+     */
+    @Override
+    public void invert() {
+        GrayHistogram previous = this.histogram;
+        process(this.mat.type(), 0, Core::bitwise_not);
+        // 反相后的直方图就是原直方图倒序，不用重新统计
+        if (previous != null) {
+            this.histogram = previous.inverted();
+        }
+    }
+
+    /**
+     * 深色背景时自动反相
+     */
+    @Override
+    public void normalizePolarity() {
+        if (histogram().isDarkBackground()) {
+            invert();
+        }
+    }
+
+    /**
+     * 统计灰度直方图（结果会缓存到图片下一次变化）
+     * <p>
+     * 用calcHist在本地代码里统计，只把256个桶拷回Java，不拷贝整张图片
+     */
+    @Override
+    public GrayHistogram histogram() {
+        if (this.histogram == null) {
+            toGray();
+            Mat hist = new Mat();
+            Imgproc.calcHist(List.of(this.mat), new MatOfInt(0), new Mat(), hist, new MatOfInt(256), new MatOfFloat(0, 256));
+            float[] bins = new float[256];
+            hist.get(0, 0, bins);
+            int[] counts = new int[256];
+            for (int i = 0; i < 256; i++) {
+                counts[i] = Math.round(bins[i]);
+            }
+            this.histogram = GrayHistogram.of(counts);
+        }
+        return this.histogram;
     }
 
     /**
      * 获取BufferedImage对象
      */
+    @Override
     public BufferedImage getBufferedImage() {
         int type = BufferedImage.TYPE_BYTE_GRAY;
         if (mat.channels() > 1) {
@@ -139,4 +210,26 @@ public class ImageOptimizationHandler {
         System.arraycopy(buffer, 0, targetPixels, 0, buffer.length);
         return image;
     }
+
+    // 执行一个处理步骤，大图按条带并行，否则直接在整图上执行
+    private void process(int type, int halo, BiConsumer<Mat, Mat> op) {
+        TiledProcessor tiles = this.tiles != null ? this.tiles : TiledProcessor.shared();
+        if (tiles.shouldTile(this.mat)) {
+            try {
+                update(tiles.apply(this.mat, type, halo, op));
+                return;
+            } catch (RejectedExecutionException e) {
+                // 取到实例后配置恰好变化，旧线程池已关闭，这一步改为不分块执行
+            }
+        }
+        Mat dst = new Mat();
+        op.accept(this.mat, dst);
+        update(dst);
+    }
+
+    // 替换当前图片，并让直方图缓存失效
+    private void update(Mat mat) {
+        this.mat = mat;
+        this.histogram = null;
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.ocrtool.opencv;
+
+import com.example.ocrtool.config.AppConfig;
+import com.example.ocrtool.config.ConfigService;
+import org.opencv.core.Mat;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+
+/**
+ * TiledProcessor
+ * <p>
+ * 把大图按行切成若干条带，放到ForkJoinPool里并行处理
+ * 每条带上下各多取halo行（卷积核能影响到的范围），处理完只拷回中间属于自己的行，所以拼接处没有接缝
+ * 二极化这类需要全局统计量的步骤，要先在整图上算好阈值再按条带执行
+ */
+public class TiledProcessor {
+
+    // 每条带最少的行数，太窄时调度开销会超过收益
+    private static final int MIN_BAND_ROWS = 64;
+
+    // 按配置创建的共享实例，配置变化时整体替换
+    private static volatile TiledProcessor shared = create(ConfigService.get().tiling());
+
+    static {
+        // 线程数或分块阈值变化时换一个新的线程池，旧线程池执行完手上的任务后关闭
+        // 图片处理对象每一步都重新取共享实例，刚好取到已关闭的旧实例时该步不分块执行
+        ConfigService.addListener((previous, current) -> {
+            if (!previous.tiling().equals(current.tiling())) {
+                TiledProcessor old = shared;
+                shared = create(current.tiling());
+                old.pool.shutdown();
+            }
+        });
+    }
+
+    private final ForkJoinPool pool;
+
+    // 像素数达到该值才分块处理
+    private final long minPixels;
+
+    public TiledProcessor(ForkJoinPool pool, long minPixels) {
+        this.pool = pool;
+        this.minPixels = minPixels;
+    }
+
+    /**
+     * 按配置创建的共享实例
+     * <p>
+     * image.tiling.threads：线程数，默认CPU核数，设为1关闭分块
+     * image.tiling.min-pixels：像素数达到该值才分块，默认200万（约1080p全屏）
+     */
+    public static TiledProcessor shared() {
+        return shared;
+    }
+
+    // 根据配置创建
+    private static TiledProcessor create(AppConfig.TilingSettings settings) {
+        return new TiledProcessor(new ForkJoinPool(settings.threads()), settings.minPixels());
+    }
+
+    /**
+     * 是否需要分块处理
+     */
+    public boolean shouldTile(Mat mat) {
+        return pool.getParallelism() > 1 && mat.total() >= minPixels && mat.rows() >= MIN_BAND_ROWS * 2;
+    }
+
+    /**
+     * 分块执行一个处理步骤
+     *
+     * @param src  输入图片
+     * @param type 输出图片类型（如灰度化后为CV_8UC1）
+     * @param halo 每条带上下额外读取的行数
+     * @param op   处理步骤（输入条带，输出条带）
+     */
+    public Mat apply(Mat src, int type, int halo, BiConsumer<Mat, Mat> op) {
+        Mat dst = new Mat(src.rows(), src.cols(), type);
+        // 条带数约为并行度的两倍，便于工作窃取平衡负载
+        int bandRows = Math.max(MIN_BAND_ROWS, (src.rows() + pool.getParallelism() * 2 - 1) / (pool.getParallelism() * 2));
+        pool.invoke(new BandTask(src, dst, 0, src.rows(), bandRows, halo, op));
+        return dst;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * 处理[from, to)行的任务，行数过多时一分为二
+     */
+    private static class BandTask extends RecursiveAction {
+        private final Mat src;
+        private final Mat dst;
+        private final int from;
+        private final int to;
+        private final int bandRows;
+        private final int halo;
+        private final BiConsumer<Mat, Mat> op;
+
+        BandTask(Mat src, Mat dst, int from, int to, int bandRows, int halo, BiConsumer<Mat, Mat> op) {
+            this.src = src;
+            this.dst = dst;
+            this.from = from;
+            this.to = to;
+            this.bandRows = bandRows;
+            this.halo = halo;
+            this.op = op;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > bandRows) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BandTask(src, dst, from, middle, bandRows, halo, op),
+                        new BandTask(src, dst, middle, to, bandRows, halo, op));
+                return;
+            }
+            // 带上下halo行一起处理
+            int start = Math.max(0, from - halo);
+            int end = Math.min(src.rows(), to + halo);
+            Mat out = new Mat();
+            op.accept(src.rowRange(start, end), out);
+            // 只拷回属于自己的行，各任务写入的行互不重叠
+            out.rowRange(from - start, to - start).copyTo(dst.rowRange(from, to));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ocrtool.replay;
+
+import com.example.ocrtool.screenshot.ScreenCapture;
+import com.example.ocrtool.screenshot.ScreenSelectionWindow;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * DesktopReplayPlayer
+ * <p>
+ * 经过真实窗口的回放，需要有显示环境（如Xvfb）：
+ * 1. 帧图片用一个全屏窗口显示在屏幕左上角，代替录制时的桌面
+ * 2. 框选时打开真正的ScreenSelectionWindow，等窗口打开后向它投递录制的鼠标事件（cancel投递右键）
+ * 3. 截屏使用ScreenCapture.desktop()，识别结果由调用方交给ContentDisplay.desktop()弹窗展示
+ * 这样select、capture、display都是真实耗时；框选中切换帧时，显示帧的耗时也计入select
+ * 屏幕至少要和帧图片一样大，如 xvfb-run -s "-screen 0 1280x720x24"
+ */
+public class DesktopReplayPlayer extends ReplayPlayer {
+
+    // 显示当前帧的全屏窗口
+    private final JWindow screen = new JWindow();
+
+    // 当前显示的帧，只在EDT上读写
+    private BufferedImage shown;
+
+    private final ScreenCapture screenCapture = ScreenCapture.desktop();
+
+    // 只用来等待事件队列和重绘完成
+    private final Robot robot;
+
+    public DesktopReplayPlayer(ReplaySession session) throws AWTException {
+        super(session);
+        this.robot = new Robot();
+        screen.setContentPane(new JComponent() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                if (shown != null) {
+                    g.drawImage(shown, 0, 0, null);
+                }
+            }
+        });
+    }
+
+    /**
+     * 把帧图片显示到屏幕上，等绘制完成后返回
+     */
+    @Override
+    protected void showFrame(BufferedImage image) {
+        super.showFrame(image);
+        Rectangle bounds = ScreenSelectionWindow.getVirtualBounds();
+        onEdt(() -> {
+            shown = image;
+            screen.setBounds(bounds.x, bounds.y, image.getWidth(), image.getHeight());
+            screen.setVisible(true);
+            screen.repaint();
+        });
+        robot.waitForIdle();
+    }
+
+    /**
+     * 关闭上一次的识别结果窗口，避免被下一次截屏截进去
+     */
+    @Override
+    protected void beforeKey() {
+        boolean[] closed = {false};
+        onEdt(() -> {
+            // 只关可见的窗口，JWindow隐藏的共享owner也在列表里，关掉它会连帧窗口一起关掉
+            for (Window window : Window.getWindows()) {
+                if (window != screen && window.isShowing()) {
+                    window.dispose();
+                    closed[0] = true;
+                }
+            }
+        });
+        if (closed[0]) {
+            // 等下面的帧重绘完成
+            robot.waitForIdle();
+        }
+    }
+
+    /**
+     * 打开真正的框选窗口，投递录制的鼠标事件
+     */
+    @Override
+    public Rectangle select() throws AWTException, InterruptedException {
+        ReplaySession.Drag drag = nextDrag();
+        if (drag == null) {
+            // 会话已经结束，没有可以投递的事件，打开窗口只会一直等下去
+            return null;
+        }
+        ScreenSelectionWindow window = new ScreenSelectionWindow();
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                postMouseEvents(window, drag.region());
+            }
+        });
+        Rectangle region = window.select();
+        // 框选窗口在鼠标松开后才关闭，等它消失、下面的帧重绘完成再截屏，否则会截到遮罩
+        robot.waitForIdle();
+        return region;
+    }
+
+    /**
+     * 使用Robot截屏
+     */
+    @Override
+    public BufferedImage capture(Rectangle region) throws AWTException {
+        return screenCapture.capture(region);
+    }
+
+    /**
+     * 关闭所有窗口
+     */
+    public void close() {
+        onEdt(() -> {
+            for (Window window : Window.getWindows()) {
+                window.dispose();
+            }
+        });
+    }
+
+    // 在EDT上执行：region为null时右键单击（取消），否则左键从选区左上角拖到右下角
+    private void postMouseEvents(ScreenSelectionWindow window, Rectangle region) {
+        Component pane = window.getContentPane();
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        if (region == null) {
+            Point point = pane.getLocationOnScreen();
+            queue.postEvent(mouseEvent(pane, MouseEvent.MOUSE_PRESSED, point, InputEvent.BUTTON3_DOWN_MASK, MouseEvent.BUTTON3));
+            queue.postEvent(mouseEvent(pane, MouseEvent.MOUSE_RELEASED, point, 0, MouseEvent.BUTTON3));
+            return;
+        }
+        // 录制的坐标相对帧图片左上角，帧图片显示在虚拟屏幕左上角
+        Rectangle bounds = ScreenSelectionWindow.getVirtualBounds();
+        Point start = new Point(bounds.x + region.x, bounds.y + region.y);
+        Point end = new Point(start.x + region.width, start.y + region.height);
+        queue.postEvent(mouseEvent(pane, MouseEvent.MOUSE_PRESSED, start, InputEvent.BUTTON1_DOWN_MASK, MouseEvent.BUTTON1));
+        queue.postEvent(mouseEvent(pane, MouseEvent.MOUSE_DRAGGED, end, InputEvent.BUTTON1_DOWN_MASK, MouseEvent.NOBUTTON));
+        queue.postEvent(mouseEvent(pane, MouseEvent.MOUSE_RELEASED, end, 0, MouseEvent.BUTTON1));
+    }
+
+    // 创建鼠标事件，onScreen为屏幕坐标
+    private static MouseEvent mouseEvent(Component target, int id, Point onScreen, int modifiers, int button) {
+        Point origin = target.getLocationOnScreen();
+        return new MouseEvent(target, id, System.currentTimeMillis(), modifiers,
+                onScreen.x - origin.x, onScreen.y - origin.y, onScreen.x, onScreen.y,
+                id == MouseEvent.MOUSE_DRAGGED ? 0 : 1, false, button);
+    }
+
+    // 在EDT上同步执行
+    private static void onEdt(Runnable task) {
+        try {
+            SwingUtilities.invokeAndWait(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("😒等待界面线程时被中断", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("😒界面操作失败: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
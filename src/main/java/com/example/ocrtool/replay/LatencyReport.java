@@ -0,0 +1,109 @@
+package com.example.ocrtool.replay;
+
+import com.example.ocrtool.hotkey.CaptureFlow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * LatencyReport
+ * <p>
+ * 按环节收集耗时样本，计算p50/p95/p99（最近秩法），并与基线对比
+ * 基线是一个properties文件，key形如ocr.p95，value为毫秒；只比较基线里出现的指标
+ */
+public class LatencyReport implements CaptureFlow.StageListener {
+
+    // 报告中的分位数
+    private static final int[] PERCENTILES = {50, 95, 99};
+
+    // 环节 → 耗时样本（纳秒），按首次出现的顺序排列
+    private final Map<String, List<Long>> samples = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void onStage(String stage, long nanos) {
+        samples.computeIfAbsent(stage, key -> new ArrayList<>()).add(nanos);
+    }
+
+    /**
+     * 某环节的样本数
+     */
+    public synchronized int count(String stage) {
+        return samples.getOrDefault(stage, List.of()).size();
+    }
+
+    /**
+     * 某环节的分位数（毫秒）
+     */
+    public synchronized double percentile(String stage, int percentile) {
+        List<Long> sorted = new ArrayList<>(samples.getOrDefault(stage, List.of()));
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1) / 1_000_000.0;
+    }
+
+    /**
+     * 打印报告
+     */
+    public synchronized void print() {
+        System.out.printf("%-10s %6s %10s %10s %10s%n", "环节", "样本数", "p50(ms)", "p95(ms)", "p99(ms)");
+        for (String stage : samples.keySet()) {
+            System.out.printf("%-10s %6d %10.2f %10.2f %10.2f%n", stage, count(stage),
+                    percentile(stage, 50), percentile(stage, 95), percentile(stage, 99));
+        }
+    }
+
+    /**
+     * 转换成基线格式
+     */
+    public synchronized Properties toBaseline() {
+        Properties baseline = new Properties();
+        for (String stage : samples.keySet()) {
+            for (int p : PERCENTILES) {
+                baseline.setProperty(stage + ".p" + p, String.format(Locale.ROOT, "%.2f", percentile(stage, p)));
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * 与基线对比，返回退化的指标
+     * <p>
+     * 同时超过相对容忍度和绝对容忍度才算退化，避免耗时很短的环节因为抖动误报
+     *
+     * @param tolerance    相对容忍度，如0.2表示允许慢20%
+     * @param slackMillis  绝对容忍度（毫秒）
+     */
+    public synchronized List<String> compare(Properties baseline, double tolerance, double slackMillis) {
+        List<String> regressions = new ArrayList<>();
+        for (String key : baseline.stringPropertyNames()) {
+            int dot = key.lastIndexOf(".p");
+            if (dot < 0) {
+                continue;
+            }
+            String stage = key.substring(0, dot);
+            int p = Integer.parseInt(key.substring(dot + 2));
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            if (count(stage) == 0) {
+                regressions.add(key + ": 回放中没有该环节的样本");
+                continue;
+            }
+            double actual = percentile(stage, p);
+            if (actual > expected * (1 + tolerance) && actual - expected > slackMillis) {
+                // 基线为0时无法算百分比，只报绝对值
+                regressions.add(expected > 0
+                        ? String.format("%s: %.2fms，基线 %.2fms（+%.0f%%）", key, actual, expected, (actual / expected - 1) * 100)
+                        : String.format("%s: %.2fms，基线 %.2fms", key, actual, expected));
+            }
+        }
+        Collections.sort(regressions);
+        return regressions;
+    }
+}
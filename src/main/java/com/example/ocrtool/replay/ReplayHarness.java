@@ -0,0 +1,146 @@
+package com.example.ocrtool.replay;
+
+import com.example.ocrtool.config.ConfigService;
+import com.example.ocrtool.hotkey.CaptureFlow;
+import com.example.ocrtool.hotkey.GlobalHotkeyListener;
+import com.example.ocrtool.ocr.OcrHandler;
+import com.example.ocrtool.ui.ContentDisplay;
+import com.example.ocrtool.utils.PathDiagnostic;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * ReplayHarness
+ * <p>
+ * 端到端延迟回放：把会话中的按键、鼠标事件和帧图片喂给真实的快捷键监听、OCR流程，
+ * 统计各环节的p50/p95/p99，并与基线对比，出现退化时以非0状态码退出（可用于让构建失败）
+ * 默认以headless方式运行，不打开任何窗口，框选和截屏直接使用会话中的数据，所以select、display接近0
+ * 加 --ui 时使用DesktopReplayPlayer经过真实的框选窗口、Robot截屏和结果窗口，需要在Xvfb下运行，
+ * 两种方式的耗时差别很大，要分别使用各自的基线文件
+ * <p>
+ * 用法：ReplayHarness 会话目录 [--baseline 基线文件] [--iterations 次数] [--warmup 次数]
+ * [--tolerance 相对容忍度] [--slack 绝对容忍度毫秒] [--update-baseline[=true|false]] [--ui[=true|false]]
+ */
+public class ReplayHarness {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("用法: ReplayHarness 会话目录 [--baseline 基线文件] [--iterations 5] [--warmup 1] "
+                    + "[--tolerance 0.2] [--slack 5] [--update-baseline] [--ui]");
+            System.exit(2);
+        }
+        Path sessionDir = Paths.get(args[0]);
+        Path baselineFile = null;
+        int iterations = 5;
+        int warmup = 1;
+        double tolerance = 0.2;
+        double slack = 5;
+        boolean updateBaseline = false;
+        boolean ui = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline" -> baselineFile = Paths.get(args[++i]);
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--tolerance" -> tolerance = Double.parseDouble(args[++i]);
+                case "--slack" -> slack = Double.parseDouble(args[++i]);
+                case "--update-baseline", "--update-baseline=true" -> updateBaseline = true;
+                // 便于Maven用属性控制：--update-baseline=${replay.update}
+                case "--update-baseline=false" -> updateBaseline = false;
+                case "--ui", "--ui=true" -> ui = true;
+                case "--ui=false" -> ui = false;
+                default -> throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+
+        if (!ui) {
+            // 在任何AWT调用之前设置，有显示环境时也不会连接桌面
+            System.setProperty("java.awt.headless", "true");
+        } else if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("🤯--ui 需要显示环境，请在Xvfb下运行，如 xvfb-run -s \"-screen 0 1280x720x24\" ...");
+            System.exit(1);
+        }
+
+        // 加载本地库、确定tessdata路径
+        PathDiagnostic.printPaths();
+
+        ReplaySession session = ReplaySession.load(sessionDir);
+        Set<Integer> hotkey = session.getHotkey() != null ? session.getHotkey() : ConfigService.get().hotkey();
+        ReplayPlayer player;
+        try {
+            player = ui ? new DesktopReplayPlayer(session) : new ReplayPlayer(session);
+        } catch (AWTException e) {
+            System.out.println("🤯无法创建Robot: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        // headless时识别结果直接丢弃
+        ContentDisplay display = ui ? ContentDisplay.desktop() : content -> {
+        };
+
+        // 预热：JIT、Tesseract模型首次加载等不计入统计
+        for (int i = 0; i < warmup; i++) {
+            replay(player, hotkey, display, (stage, nanos) -> {
+            });
+        }
+        LatencyReport report = new LatencyReport();
+        for (int i = 0; i < iterations; i++) {
+            replay(player, hotkey, display, report);
+        }
+        if (player instanceof DesktopReplayPlayer desktop) {
+            desktop.close();
+        }
+
+        System.out.println("=== 回放结果（" + iterations + " 轮，共识别 " + report.count(CaptureFlow.TOTAL) + " 次） ===");
+        report.print();
+        if (report.count(CaptureFlow.TOTAL) == 0) {
+            System.out.println("🤯回放没有完成任何一次截图流程，请检查快捷键与录制的事件");
+            System.exit(1);
+        }
+
+        if (baselineFile == null) {
+            return;
+        }
+        if (updateBaseline) {
+            try (OutputStream out = Files.newOutputStream(baselineFile)) {
+                report.toBaseline().store(out, "replay latency baseline (ms)");
+            }
+            System.out.println("😊基线已更新: " + baselineFile.toAbsolutePath());
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            // 指定了基线却找不到时不能当作通过，否则退化永远不会让构建失败
+            System.out.println("🤯没有找到基线文件: " + baselineFile.toAbsolutePath()
+                    + "，请在固定的机器上加 --update-baseline（Maven: -Dreplay.update=true）实测生成");
+            System.exit(1);
+        }
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(baselineFile)) {
+            baseline.load(in);
+        }
+        List<String> regressions = report.compare(baseline, tolerance, slack);
+        if (regressions.isEmpty()) {
+            System.out.println("😊与基线相比没有性能退化");
+            return;
+        }
+        System.out.println("🤯与基线相比出现性能退化:");
+        regressions.forEach(r -> System.out.println("  " + r));
+        System.exit(1);
+    }
+
+    // 回放一遍会话
+    private static void replay(ReplayPlayer player, Set<Integer> hotkey, ContentDisplay display,
+                               CaptureFlow.StageListener listener) {
+        CaptureFlow flow = new CaptureFlow(player, player, OcrHandler::identifyContext, display, listener);
+        player.play(new GlobalHotkeyListener(hotkey, flow));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.ocrtool.replay;
+
+import com.example.ocrtool.hotkey.GlobalHotkeyListener;
+import com.example.ocrtool.screenshot.RegionSelector;
+import com.example.ocrtool.screenshot.ScreenCapture;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * ReplayPlayer
+ * <p>
+ * 按顺序回放会话中的事件：按键交给GlobalHotkeyListener，快捷键触发流程后，
+ * 框选从后续的drag/cancel事件中读取，截屏从当前帧图片中裁剪，整个过程不需要真实桌面
+ * 需要经过真实窗口的回放见DesktopReplayPlayer
+ */
+public class ReplayPlayer implements RegionSelector, ScreenCapture {
+
+    private final List<ReplaySession.Event> events;
+
+    // 下一个要处理的事件
+    private int cursor;
+
+    // 当前屏幕帧
+    private BufferedImage frame;
+
+    public ReplayPlayer(ReplaySession session) {
+        this.events = session.getEvents();
+    }
+
+    /**
+     * 从头回放一遍
+     */
+    public void play(GlobalHotkeyListener listener) {
+        cursor = 0;
+        frame = null;
+        while (cursor < events.size()) {
+            ReplaySession.Event event = events.get(cursor++);
+            if (event instanceof ReplaySession.Frame f) {
+                showFrame(f.image());
+            } else if (event instanceof ReplaySession.Key key) {
+                beforeKey();
+                // 快捷键触发时会同步执行流程，并在select中继续消费后面的事件
+                listener.onKeyReleased(key.keyCode());
+            }
+            // 没有处于框选中的鼠标事件直接忽略
+        }
+    }
+
+    /**
+     * 直接返回录制的框选结果
+     */
+    @Override
+    public Rectangle select() throws AWTException, InterruptedException {
+        ReplaySession.Drag drag = nextDrag();
+        return drag != null ? drag.region() : null;
+    }
+
+    /**
+     * 读取下一次框选，期间的按键忽略（与框选窗口获得焦点时一致），会话已经结束时返回null
+     */
+    protected ReplaySession.Drag nextDrag() {
+        while (cursor < events.size()) {
+            ReplaySession.Event event = events.get(cursor++);
+            if (event instanceof ReplaySession.Frame f) {
+                showFrame(f.image());
+            } else if (event instanceof ReplaySession.Drag drag) {
+                return drag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 切换当前屏幕帧
+     */
+    protected void showFrame(BufferedImage image) {
+        frame = image;
+    }
+
+    /**
+     * 每次回放按键之前调用
+     */
+    protected void beforeKey() {
+
+    }
+
+    /**
+     * 从当前帧中裁剪并拷贝出选区（Robot截屏返回的也是一份独立的INT_RGB拷贝）
+     */
+    @Override
+    public BufferedImage capture(Rectangle region) throws AWTException {
+        if (frame == null) {
+            throw new IllegalStateException("😒截屏前没有frame事件");
+        }
+        Rectangle clipped = region.intersection(new Rectangle(frame.getWidth(), frame.getHeight()));
+        if (clipped.isEmpty()) {
+            throw new IllegalArgumentException("😒选区超出帧图片范围: " + region);
+        }
+        BufferedImage image = new BufferedImage(clipped.width, clipped.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.drawImage(frame.getSubimage(clipped.x, clipped.y, clipped.width, clipped.height), 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
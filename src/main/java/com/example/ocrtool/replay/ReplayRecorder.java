@@ -0,0 +1,121 @@
+package com.example.ocrtool.replay;
+
+import com.example.ocrtool.config.ConfigService;
+import com.example.ocrtool.config.KeyMapping;
+import com.example.ocrtool.hotkey.CaptureFlow;
+import com.example.ocrtool.hotkey.GlobalHotkeyListener;
+import com.example.ocrtool.image.ImageBackend;
+import com.example.ocrtool.ocr.OcrHandler;
+import com.example.ocrtool.screenshot.RegionSelector;
+import com.example.ocrtool.screenshot.ScreenCapture;
+import com.example.ocrtool.screenshot.ScreenSelectionWindow;
+import com.example.ocrtool.ui.ContentDisplay;
+import com.example.ocrtool.utils.PathDiagnostic;
+import com.github.kwhat.jnativehook.GlobalScreen;
+import com.github.kwhat.jnativehook.NativeHookException;
+import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
+import com.github.kwhat.jnativehook.keyboard.NativeKeyListener;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * ReplayRecorder
+ * <p>
+ * 录制回放会话：和正常运行一样监听快捷键、框选、识别并弹窗展示，同时把事件写进会话目录的events.txt
+ * 1. 只记录快捷键包含的按键，其他按键既不记录也不参与触发，保证回放时在同样的位置触发
+ * 2. 快捷键触发后、框选窗口打开前，把整个虚拟屏幕保存为一张帧图片（frame-001.png、frame-002.png…）
+ * 3. 框选结果换算成相对帧图片左上角的坐标，写成drag，取消时写cancel
+ * 按Ctrl+C结束录制
+ * <p>
+ * 用法：ReplayRecorder 会话目录（目录中不能已有events.txt）
+ */
+public class ReplayRecorder {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("用法: ReplayRecorder 会话目录");
+            System.exit(2);
+        }
+        Path dir = Paths.get(args[0]);
+        Path eventsFile = dir.resolve(ReplaySession.EVENTS_FILE);
+        if (Files.exists(eventsFile)) {
+            System.out.println("🤯会话目录中已经有" + ReplaySession.EVENTS_FILE + "，请换一个目录: " + dir.toAbsolutePath());
+            System.exit(1);
+        }
+        Files.createDirectories(dir);
+
+        // 和Main一样先确认运行环境
+        PathDiagnostic.printPaths();
+        ImageBackend.current();
+
+        Set<Integer> hotkey = ConfigService.get().hotkey();
+        // 每行写完立即刷新，Ctrl+C结束时不会丢事件
+        PrintWriter events = new PrintWriter(Files.newBufferedWriter(eventsFile, StandardCharsets.UTF_8), true);
+        Runtime.getRuntime().addShutdownHook(new Thread(events::close));
+        events.println("# 由ReplayRecorder录制");
+        events.println("hotkey " + hotkey.stream().map(KeyMapping::keyName).collect(Collectors.joining("+")));
+
+        CaptureFlow flow = new CaptureFlow(recordingSelector(dir, events), ScreenCapture.desktop(),
+                OcrHandler::identifyContext, ContentDisplay.desktop(), (stage, nanos) -> {
+        });
+        GlobalHotkeyListener listener = new GlobalHotkeyListener(hotkey, flow);
+        try {
+            // 屏蔽JNativeHook的日志
+            Logger.getLogger(GlobalScreen.class.getPackage().getName()).setLevel(Level.OFF);
+            GlobalScreen.registerNativeHook();
+        } catch (NativeHookException e) {
+            System.out.println("🤯全局按键监听启动失败: " + e.getMessage());
+            System.exit(1);
+        }
+        GlobalScreen.addNativeKeyListener(new NativeKeyListener() {
+            @Override
+            public void nativeKeyReleased(NativeKeyEvent nativeEvent) {
+                int keyCode = nativeEvent.getKeyCode();
+                if (hotkey.contains(keyCode)) {
+                    // 先写按键，触发后框选产生的frame、drag事件跟在后面
+                    events.println("key " + KeyMapping.keyName(keyCode));
+                    listener.onKeyReleased(keyCode);
+                }
+            }
+        });
+        System.out.println("😊开始录制到 " + dir.toAbsolutePath() + "，按快捷键截图，按Ctrl+C结束");
+    }
+
+    // 打开框选窗口前保存整个虚拟屏幕，框选结果记录为相对帧图片的坐标
+    private static RegionSelector recordingSelector(Path dir, PrintWriter events) {
+        RegionSelector desktop = RegionSelector.desktop();
+        AtomicInteger frames = new AtomicInteger();
+        return () -> {
+            Rectangle bounds = ScreenSelectionWindow.getVirtualBounds();
+            String name = String.format("frame-%03d.png", frames.incrementAndGet());
+            try {
+                ImageIO.write(new Robot().createScreenCapture(bounds), "png", dir.resolve(name).toFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException("保存帧图片失败: " + name, e);
+            }
+            events.println("frame " + name);
+            Rectangle region = desktop.select();
+            if (region == null) {
+                events.println("cancel");
+            } else {
+                int x = region.x - bounds.x;
+                int y = region.y - bounds.y;
+                events.println("drag " + x + " " + y + " " + (x + region.width) + " " + (y + region.height));
+            }
+            return region;
+        };
+    }
+}
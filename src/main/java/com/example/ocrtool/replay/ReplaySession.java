@@ -0,0 +1,140 @@
+package com.example.ocrtool.replay;
+
+import com.example.ocrtool.config.KeyMapping;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ReplaySession
+ * <p>
+ * 一次回放会话，由ReplayRecorder录制，也可以手写，目录下的events.txt按顺序记录事件，每行一个：
+ * <pre>
+ * # 注释
+ * hotkey CTRL+SHIFT+C          录制时使用的快捷键（可选，默认使用当前配置）
+ * frame frame-001.png          此后的截屏都从这张帧图片中裁剪（整个虚拟屏幕的截图，左上角为原点）
+ * key CTRL                     释放一个按键
+ * drag 100 200 640 480         框选：在(100,200)按下鼠标，在(640,480)松开
+ * cancel                       取消框选（ESC或右键）
+ * </pre>
+ * 帧图片在解析时就全部读入内存，图片解码不会计入回放耗时
+ */
+public class ReplaySession {
+
+    // 事件文件名
+    public static final String EVENTS_FILE = "events.txt";
+
+    /**
+     * 回放事件
+     */
+    public sealed interface Event permits Frame, Key, Drag {
+    }
+
+    /**
+     * 切换当前屏幕帧
+     */
+    public record Frame(BufferedImage image) implements Event {
+    }
+
+    /**
+     * 释放按键
+     */
+    public record Key(int keyCode) implements Event {
+    }
+
+    /**
+     * 框选结果，取消时region为null
+     */
+    public record Drag(Rectangle region) implements Event {
+    }
+
+    // 录制时的快捷键，为null时使用当前配置
+    private final Set<Integer> hotkey;
+
+    private final List<Event> events;
+
+    private ReplaySession(Set<Integer> hotkey, List<Event> events) {
+        this.hotkey = hotkey;
+        this.events = events;
+    }
+
+    /**
+     * 读取会话目录
+     */
+    public static ReplaySession load(Path dir) throws IOException {
+        Set<Integer> hotkey = null;
+        List<Event> events = new ArrayList<>();
+        Map<String, BufferedImage> frames = new HashMap<>();
+        List<String> lines = Files.readAllLines(dir.resolve(EVENTS_FILE), StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            try {
+                switch (parts[0]) {
+                    case "hotkey" -> hotkey = KeyMapping.parseHotkey(parts[1]);
+                    case "frame" -> events.add(new Frame(frames.computeIfAbsent(parts[1], name -> readFrame(dir.resolve(name)))));
+                    case "key" -> KeyMapping.parseHotkey(parts[1]).forEach(code -> events.add(new Key(code)));
+                    case "drag" -> events.add(new Drag(toRegion(
+                            Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                            Integer.parseInt(parts[3]), Integer.parseInt(parts[4]))));
+                    case "cancel" -> events.add(new Drag(null));
+                    default -> throw new IllegalArgumentException("未知的事件类型: " + parts[0]);
+                }
+            } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException | UncheckedFrameException e) {
+                throw new IOException(EVENTS_FILE + " 第" + (i + 1) + "行有误: " + line + "（" + e.getMessage() + "）", e);
+            }
+        }
+        return new ReplaySession(hotkey, List.copyOf(events));
+    }
+
+    // 与ScreenSelectionWindow相同的计算方式：宽或高为0时视为没有选择
+    private static Rectangle toRegion(int startX, int startY, int endX, int endY) {
+        int w = Math.abs(startX - endX);
+        int h = Math.abs(startY - endY);
+        if (w > 0 && h > 0) {
+            return new Rectangle(Math.min(startX, endX), Math.min(startY, endY), w, h);
+        }
+        return null;
+    }
+
+    // 读取帧图片
+    private static BufferedImage readFrame(Path file) {
+        try {
+            BufferedImage image = ImageIO.read(file.toFile());
+            if (image == null) {
+                throw new UncheckedFrameException("无法识别的图片格式: " + file);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedFrameException("读取帧图片失败: " + file);
+        }
+    }
+
+    public Set<Integer> getHotkey() {
+        return hotkey;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    // computeIfAbsent里不能抛受检异常，先包一层
+    private static class UncheckedFrameException extends RuntimeException {
+        UncheckedFrameException(String message) {
+            super(message);
+        }
+    }
+}
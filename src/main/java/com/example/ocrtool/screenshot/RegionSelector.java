@@ -0,0 +1,24 @@
+package com.example.ocrtool.screenshot;
+
+import java.awt.*;
+
+/**
+ * RegionSelector
+ * <p>
+ * 让用户框选截图区域，桌面环境下由ScreenSelectionWindow实现，回放时由录制的鼠标事件实现
+ */
+@FunctionalInterface
+public interface RegionSelector {
+
+    /**
+     * 阻塞直到选择完成，用户取消时返回null
+     */
+    Rectangle select() throws AWTException, InterruptedException;
+
+    /**
+     * 桌面环境：弹出全屏透明窗口让用户框选
+     */
+    static RegionSelector desktop() {
+        return () -> new ScreenSelectionWindow().select();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ocrtool.screenshot;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * ScreenCapture
+ * <p>
+ * 截取屏幕上的指定区域，桌面环境下由Robot实现，回放时从保存的帧图片中裁剪
+ */
+@FunctionalInterface
+public interface ScreenCapture {
+
+    /**
+     * 截取指定区域
+     */
+    BufferedImage capture(Rectangle region) throws AWTException;
+
+    /**
+     * 桌面环境：使用Robot截屏
+     */
+    static ScreenCapture desktop() {
+        return region -> new Robot().createScreenCapture(region);
+    }
+}
@@ -159,7 +159,7 @@ public class ScreenSelectionWindow extends JFrame {
     }
 
     // 获取虚拟屏幕边界
-    private static Rectangle getVirtualBounds() {
+    public static Rectangle getVirtualBounds() {
         // 用来存储虚拟桌面的总范围，初始化为空矩形
         Rectangle bounds = new Rectangle();
         // 获取图形环境
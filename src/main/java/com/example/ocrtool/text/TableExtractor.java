@@ -0,0 +1,206 @@
+package com.example.ocrtool.text;
+
+import net.sourceforge.tess4j.Word;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TableExtractor
+ * <p>
+ * 根据Tesseract单词级别（RIL_WORD）的边界框还原版面：
+ * 1. 按垂直方向重叠把单词归到同一行
+ * 2. 行内单词间距超过字高的一定倍数时视为单元格分隔
+ * 3. 把多单元格行的单元格横向区间合并成列，至少两行两列才认为是表格，输出TSV
+ * 不是表格时可以用rows()按行拼回普通文本
+ */
+public final class TableExtractor {
+
+    // 单词间距超过字高的该倍数时视为单元格分隔
+    private static final double CELL_GAP_RATIO = 1.5;
+
+    // 工具类不允许实例化
+    private TableExtractor() {
+
+    }
+
+    /**
+     * 把单词按行分组，行内按从左到右排序
+     */
+    public static List<List<Word>> rows(List<Word> words) {
+        List<Word> sorted = new ArrayList<>(words.size());
+        for (Word word : words) {
+            if (!word.getText().isBlank()) {
+                sorted.add(word);
+            }
+        }
+        sorted.sort(Comparator.comparingDouble(word -> word.getBoundingBox().getCenterY()));
+
+        List<List<Word>> rows = new ArrayList<>();
+        List<Word> row = null;
+        int bottom = 0;
+        for (Word word : sorted) {
+            Rectangle box = word.getBoundingBox();
+            if (row == null || box.getCenterY() > bottom) {
+                // 中心线低于当前行的下边界，开始新的一行
+                row = new ArrayList<>();
+                rows.add(row);
+                bottom = box.y + box.height;
+            } else {
+                bottom = Math.max(bottom, box.y + box.height);
+            }
+            row.add(word);
+        }
+        for (List<Word> r : rows) {
+            r.sort(Comparator.comparingInt(word -> word.getBoundingBox().x));
+        }
+        return rows;
+    }
+
+    /**
+     * 把一行单词拼成文本（单词之间补空格，中文之间的空格由TextNormalizer去掉）
+     */
+    public static String rowText(List<Word> row) {
+        StringBuilder text = new StringBuilder();
+        for (Word word : row) {
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(word.getText().strip());
+        }
+        return text.toString();
+    }
+
+    /**
+     * 识别为表格时返回TSV（行用\n分隔，列用\t分隔），否则返回empty
+     *
+     * @param normalize 是否对单元格做TextNormalizer处理
+     */
+    public static Optional<String> toTsv(List<Word> words, boolean normalize) {
+        List<List<Word>> rows = rows(words);
+        if (rows.size() < 2) {
+            return Optional.empty();
+        }
+        int gap = (int) Math.ceil(medianHeight(rows) * CELL_GAP_RATIO);
+
+        // 每行切分单元格
+        List<List<List<Word>>> cellRows = new ArrayList<>(rows.size());
+        int multiCellRows = 0;
+        for (List<Word> row : rows) {
+            List<List<Word>> cells = splitCells(row, gap);
+            cellRows.add(cells);
+            if (cells.size() > 1) {
+                multiCellRows++;
+            }
+        }
+        // 大部分行都有多个单元格才认为是表格
+        if (multiCellRows < 2 || multiCellRows * 2 < rows.size()) {
+            return Optional.empty();
+        }
+
+        int[][] columns = columns(cellRows);
+        if (columns.length < 2) {
+            return Optional.empty();
+        }
+
+        StringBuilder tsv = new StringBuilder();
+        StringBuilder[] line = new StringBuilder[columns.length];
+        for (List<List<Word>> cells : cellRows) {
+            for (int i = 0; i < line.length; i++) {
+                line[i] = new StringBuilder();
+            }
+            for (List<Word> cell : cells) {
+                StringBuilder target = line[columnOf(columns, cell.get(0).getBoundingBox().x)];
+                if (!target.isEmpty()) {
+                    target.append(' ');
+                }
+                String text = rowText(cell);
+                target.append(normalize ? TextNormalizer.normalizeLine(text) : text);
+            }
+            for (int i = 0; i < line.length; i++) {
+                if (i > 0) {
+                    tsv.append('\t');
+                }
+                tsv.append(line[i]);
+            }
+            tsv.append('\n');
+        }
+        tsv.setLength(tsv.length() - 1);
+        return Optional.of(tsv.toString());
+    }
+
+    // 行内相邻单词间距超过gap时切分单元格
+    private static List<List<Word>> splitCells(List<Word> row, int gap) {
+        List<List<Word>> cells = new ArrayList<>();
+        List<Word> cell = new ArrayList<>();
+        int right = Integer.MIN_VALUE;
+        for (Word word : row) {
+            Rectangle box = word.getBoundingBox();
+            if (!cell.isEmpty() && box.x - right > gap) {
+                cells.add(cell);
+                cell = new ArrayList<>();
+            }
+            cell.add(word);
+            right = Math.max(right, box.x + box.width);
+        }
+        cells.add(cell);
+        return cells;
+    }
+
+    // 合并多单元格行中各单元格的横向区间，得到从左到右的列区间[left, right]
+    private static int[][] columns(List<List<List<Word>>> cellRows) {
+        List<int[]> spans = new ArrayList<>();
+        for (List<List<Word>> cells : cellRows) {
+            if (cells.size() < 2) {
+                // 单个单元格的行（标题、合并单元格）跨多列，不参与列划分
+                continue;
+            }
+            for (List<Word> cell : cells) {
+                Rectangle first = cell.get(0).getBoundingBox();
+                Rectangle last = cell.get(cell.size() - 1).getBoundingBox();
+                spans.add(new int[]{first.x, last.x + last.width});
+            }
+        }
+        spans.sort(Comparator.comparingInt(span -> span[0]));
+        List<int[]> merged = new ArrayList<>();
+        for (int[] span : spans) {
+            int[] column = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (column != null && span[0] <= column[1]) {
+                column[1] = Math.max(column[1], span[1]);
+            } else {
+                merged.add(span.clone());
+            }
+        }
+        return merged.toArray(new int[0][]);
+    }
+
+    // 单元格左边界所在的列，落在列间空白时归到左侧的列
+    private static int columnOf(int[][] columns, int x) {
+        int index = 0;
+        for (int i = 0; i < columns.length && columns[i][0] <= x; i++) {
+            index = i;
+        }
+        return index;
+    }
+
+    // 单词高度的中位数，近似为字高
+    private static int medianHeight(List<List<Word>> rows) {
+        int count = 0;
+        for (List<Word> row : rows) {
+            count += row.size();
+        }
+        int[] heights = new int[count];
+        int i = 0;
+        for (List<Word> row : rows) {
+            for (Word word : row) {
+                heights[i++] = word.getBoundingBox().height;
+            }
+        }
+        Arrays.sort(heights);
+        return heights[count / 2];
+    }
+}
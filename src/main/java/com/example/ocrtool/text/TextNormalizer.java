@@ -0,0 +1,284 @@
+package com.example.ocrtool.text;
+
+/**
+ * TextNormalizer
+ * <p>
+ * OCR结果的后处理，按行流式输入，逐字符扫描一遍，不使用正则：
+ * 1. 去掉中文字符之间多余的空格，连续空白合并为一个
+ * 2. 全角字母、数字、空格转半角；标点按上下文统一：中文旁边用全角（，。：；！？（）），其他用半角
+ * 3. 把被截图边界折断的行重新拼成段落，段落之间换行
+ * 非线程安全，每次识别创建一个
+ */
+public final class TextNormalizer {
+
+    // 较短的行视为段落最后一行：显示宽度小于最长行的该比例时断开
+    private static final double SHORT_LINE_RATIO = 0.6;
+
+    // 最长行显示宽度不足该值时不按行长判断（内容太少，判断不可靠）
+    private static final int MIN_REFLOW_WIDTH = 20;
+
+    // 已输出的段落
+    private final StringBuilder out = new StringBuilder();
+
+    // 上一行（尚未决定和下一行如何连接）
+    private StringBuilder previous = new StringBuilder();
+
+    // 当前行的处理缓冲区，和previous交替使用
+    private StringBuilder current = new StringBuilder();
+
+    // 上一行的显示宽度
+    private int previousWidth;
+
+    // 目前为止最长行的显示宽度
+    private int maxWidth;
+
+    /**
+     * 一次性处理整段文本
+     */
+    public static String normalize(CharSequence text) {
+        TextNormalizer normalizer = new TextNormalizer();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                normalizer.accept(text.subSequence(start, i));
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            normalizer.accept(text.subSequence(start, text.length()));
+        }
+        return normalizer.finish();
+    }
+
+    /**
+     * 只处理单行内的空格和全半角，不重排段落（用于表格单元格）
+     */
+    public static String normalizeLine(CharSequence line) {
+        StringBuilder buffer = new StringBuilder(line.length());
+        normalizeLine(line, buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * 输入一行OCR结果
+     */
+    public TextNormalizer accept(CharSequence line) {
+        current.setLength(0);
+        int width = normalizeLine(line, current);
+        if (current.isEmpty()) {
+            // 空行一定是段落结束
+            flushParagraph();
+            return this;
+        }
+        maxWidth = Math.max(maxWidth, width);
+        if (!previous.isEmpty()) {
+            out.append(previous);
+            if (isParagraphEnd(current)) {
+                out.append('\n');
+            } else {
+                join(current);
+            }
+        }
+        // 交换缓冲区，避免每行重新分配
+        StringBuilder swap = previous;
+        previous = current;
+        current = swap;
+        previousWidth = width;
+        return this;
+    }
+
+    /**
+     * 结束输入，返回处理后的文本
+     */
+    public String finish() {
+        flushParagraph();
+        // 去掉最后一个换行
+        int length = out.length();
+        if (length > 0 && out.charAt(length - 1) == '\n') {
+            out.setLength(length - 1);
+        }
+        return out.toString();
+    }
+
+    // 输出上一行并结束当前段落
+    private void flushParagraph() {
+        if (!previous.isEmpty()) {
+            out.append(previous).append('\n');
+            previous.setLength(0);
+        }
+    }
+
+    // 上一行是否是段落的最后一行
+    private boolean isParagraphEnd(CharSequence next) {
+        char last = previous.charAt(previous.length() - 1);
+        return isSentenceEnd(last)
+                || isListItem(next)
+                || maxWidth >= MIN_REFLOW_WIDTH && previousWidth < maxWidth * SHORT_LINE_RATIO;
+    }
+
+    // 把下一行接到上一行后面：中文直接相连，英文断词的连字符去掉，其余补一个空格
+    private void join(CharSequence next) {
+        int length = out.length();
+        char last = out.charAt(length - 1);
+        char first = next.charAt(0);
+        if (isCjk(last) || isCjk(first)) {
+            return;
+        }
+        if (last == '-' && length > 1 && Character.isLetter(out.charAt(length - 2)) && Character.isLowerCase(first)) {
+            out.setLength(length - 1);
+            return;
+        }
+        out.append(' ');
+    }
+
+    /**
+     * 处理一行，结果追加到buffer，返回显示宽度（中文算2）
+     */
+    private static int normalizeLine(CharSequence line, StringBuilder buffer) {
+        int start = buffer.length();
+        int width = 0;
+        boolean pendingSpace = false;
+        // 未闭合的括号层数，和每层左括号是否用了全角（按位记录，超过64层不再记录）
+        int depth = 0;
+        long fullBrackets = 0;
+        int length = line.length();
+        for (int i = 0; i < length; i++) {
+            char c = toHalfWidth(line.charAt(i));
+            if (Character.isWhitespace(c)) {
+                pendingSpace = buffer.length() > start;
+                continue;
+            }
+            char previous = buffer.length() > start ? buffer.charAt(buffer.length() - 1) : 0;
+            c = unifyPunctuation(c, previous, nextNonSpace(line, i + 1));
+            if (c == '(' || c == '（') {
+                if (depth < Long.SIZE) {
+                    fullBrackets = c == '（' ? fullBrackets | 1L << depth : fullBrackets & ~(1L << depth);
+                }
+                depth++;
+            } else if ((c == ')' || c == '）') && depth > 0) {
+                // 右括号沿用配对的左括号的宽度，没有配对时按前一个字决定
+                depth--;
+                if (depth < Long.SIZE) {
+                    c = (fullBrackets >>> depth & 1) != 0 ? '）' : ')';
+                }
+            }
+            if (pendingSpace && keepSpace(previous, c)) {
+                buffer.append(' ');
+                width++;
+            }
+            pendingSpace = false;
+            buffer.append(c);
+            width += isCjk(c) ? 2 : 1;
+        }
+        return width;
+    }
+
+    // 全角字母、数字、空格和不区分中英文的符号转半角，中文常用标点先保留，由上下文决定
+    private static char toHalfWidth(char c) {
+        if (c == '\u3000') {
+            return ' ';
+        }
+        if (c >= '\uFF01' && c <= '\uFF5E' && toFullWidthPunctuation((char) (c - 0xFEE0)) != c) {
+            return (char) (c - 0xFEE0);
+        }
+        return c;
+    }
+
+    // 中英文都会用到的标点：前一个字是中文时用全角，否则用半角；左括号看后一个字
+    private static char unifyPunctuation(char c, char previous, char next) {
+        char half = c >= '\uFF01' && c <= '\uFF5E' ? (char) (c - 0xFEE0) : c;
+        char full = toFullWidthPunctuation(half);
+        if (full == half) {
+            return c;
+        }
+        boolean cjk = half == '(' ? isCjk(next) : isCjk(previous);
+        if (half == '.') {
+            // 句号只在中文后、且后面是中文或行尾时转换，排除小数点、省略号和“中文.md”这样的文件名
+            cjk = cjk && (next == 0 || isCjk(next));
+        }
+        return cjk ? full : half;
+    }
+
+    // 半角标点对应的全角标点，没有对应时原样返回
+    private static char toFullWidthPunctuation(char c) {
+        return switch (c) {
+            case ',' -> '，';
+            case '.' -> '。';
+            case ':' -> '：';
+            case ';' -> '；';
+            case '!' -> '！';
+            case '?' -> '？';
+            case '(' -> '（';
+            case ')' -> '）';
+            default -> c;
+        };
+    }
+
+    // 空格两边都不是中文、且不在标点内侧时才保留
+    private static boolean keepSpace(char previous, char c) {
+        if (isCjkPunctuation(previous) || isCjkPunctuation(c) || isCjk(previous) && isCjk(c)) {
+            return false;
+        }
+        return switch (c) {
+            case ',', '.', ':', ';', '!', '?', ')' -> false;
+            default -> previous != '(';
+        };
+    }
+
+    // 从from开始第一个非空白字符，没有时返回0
+    private static char nextNonSpace(CharSequence line, int from) {
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (!Character.isWhitespace(c) && c != '\u3000') {
+                return toHalfWidth(c);
+            }
+        }
+        return 0;
+    }
+
+    // 句末标点
+    private static boolean isSentenceEnd(char c) {
+        return switch (c) {
+            case '。', '！', '？', '：', '；', '…', '.', '!', '?', ':', ';' -> true;
+            default -> false;
+        };
+    }
+
+    // 列表项开头：-、•、·，或者“1.”“1、”“1)”之类的编号
+    private static boolean isListItem(CharSequence line) {
+        char first = line.charAt(0);
+        if (first == '-' || first == '•' || first == '·') {
+            return true;
+        }
+        int i = 0;
+        while (i < line.length() && Character.isDigit(line.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == line.length()) {
+            return false;
+        }
+        char marker = line.charAt(i);
+        return marker == '、' || marker == ')' || marker == '）' || marker == '.' && i + 1 < line.length()
+                && !Character.isDigit(line.charAt(i + 1));
+    }
+
+    /**
+     * 是否是中日韩文字或中文标点
+     */
+    public static boolean isCjk(char c) {
+        return c >= '\u4E00' && c <= '\u9FFF'     // 常用汉字
+                || c >= '\u3400' && c <= '\u4DBF' // 扩展A
+                || c >= '\u3040' && c <= '\u30FF' // 日文假名
+                || c >= '\uAC00' && c <= '\uD7AF' // 韩文
+                || c >= '\uF900' && c <= '\uFAFF' // 兼容汉字
+                || isCjkPunctuation(c);
+    }
+
+    // 中文标点（CJK符号区和全角标点）
+    private static boolean isCjkPunctuation(char c) {
+        return c >= '\u3001' && c <= '\u303F'
+                || c >= '\uFF01' && c <= '\uFF0F'
+                || c >= '\uFF1A' && c <= '\uFF20'
+                || c == '…' || c == '“' || c == '”' || c == '‘' || c == '’';
+    }
+}
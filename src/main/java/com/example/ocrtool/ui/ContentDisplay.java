@@ -0,0 +1,22 @@
+package com.example.ocrtool.ui;
+
+/**
+ * ContentDisplay
+ * <p>
+ * 展示识别结果，桌面环境下弹出窗口，回放时只收集结果
+ */
+@FunctionalInterface
+public interface ContentDisplay {
+
+    /**
+     * 展示文字内容
+     */
+    void show(String content);
+
+    /**
+     * 桌面环境：以GUI窗口展示
+     */
+    static ContentDisplay desktop() {
+        return GUIUtils::contentShow;
+    }
+}
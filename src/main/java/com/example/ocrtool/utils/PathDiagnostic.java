@@ -1,5 +1,7 @@
 package com.example.ocrtool.utils;
 
+import com.example.ocrtool.image.ImageBackend;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -17,10 +19,19 @@ public class PathDiagnostic {
 
     private static String productJarParentPath = null;
 
+    // OpenCV本地库名称（Windows下为opencv_java4120.dll，Linux下为libopencv_java4120.so）
+    private static final String OPENCV_LIBRARY = System.mapLibraryName("opencv_java4120");
+
+    // OpenCV本地库是否加载成功
+    private static volatile boolean openCvLoaded = false;
+
+    // 当前环境，只读取一次
+    private static final String env = loadEnv();
+
     /**
-     * 获取环境
+     * 读取环境
      */
-    private static String getEnv() {
+    private static String loadEnv() {
         // 用于读取配置文件
         Properties properties = new Properties();
         try (InputStream input = PathDiagnostic.class.getClassLoader().getResourceAsStream("application.properties")) {
@@ -39,9 +50,9 @@ public class PathDiagnostic {
     public static void printPaths() {
         System.out.println("=== 程序诊断信息 ===");
 
-        System.out.println("当前环境：" + getEnv());
+        System.out.println("当前环境：" + env);
 
-        if (getEnv().equals("dev")) {
+        if (env.equals("dev")) {
             // 当前工作目录
             System.out.println("当前工作目录: " + System.getProperty("user.dir"));
 
@@ -50,12 +61,8 @@ public class PathDiagnostic {
 
             System.out.println("tessdata (开发环境): " + tessdataDir.getAbsolutePath() + " - 存在: " + tessdataDir.exists());
 
-            // 判断OpenCV的DLL是否存在
-            File dllDev = new File("lib/opencv_java4120.dll");
-            // 加载dll
-            System.load(dllDev.getAbsolutePath());
-
-            System.out.println("OpenCV DLL (开发环境): " + dllDev.getAbsolutePath() + " - 存在: " + dllDev.exists());
+            // 判断OpenCV的本地库是否存在并加载
+            loadOpenCv(new File("lib", OPENCV_LIBRARY), "开发环境");
         } else {
             // jar包路径
             String jarPath = PathDiagnostic.class.getProtectionDomain()
@@ -76,22 +83,49 @@ public class PathDiagnostic {
 
             System.out.println("tessdata (jar包生产环境): " + tessdataPro.getAbsolutePath() + " - 存在: " + tessdataPro.exists());
 
-            // 检查OpenCV DLL
-            File dllProd = new File(jarDir, "lib/opencv_java4120.dll");
-            // 加载dll
-            System.load(dllProd.getAbsolutePath());
-
-            System.out.println("OpenCV DLL (jar包生产环境): " + dllProd.getAbsolutePath() + " - 存在: " + dllProd.exists());
+            // 检查OpenCV本地库并加载
+            loadOpenCv(new File(jarDir, "lib/" + OPENCV_LIBRARY), "jar包生产环境");
         }
 
         System.out.println("=== 诊断结束 ===");
     }
 
+    /**
+     * 加载OpenCV本地库
+     * <p>
+     * image.backend为vector时不加载；为auto时加载失败会回退到纯Java实现；为opencv时加载失败直接抛出
+     */
+    private static void loadOpenCv(File library, String envName) {
+        String backend = ImageBackend.configured();
+        if (ImageBackend.VECTOR.name().equalsIgnoreCase(backend)) {
+            System.out.println("OpenCV 本地库 (" + envName + "): 已跳过，使用纯Java实现");
+            return;
+        }
+        try {
+            // 加载本地库
+            System.load(library.getAbsolutePath());
+            openCvLoaded = true;
+        } catch (UnsatisfiedLinkError e) {
+            if (ImageBackend.OPENCV.name().equalsIgnoreCase(backend)) {
+                throw e;
+            }
+            System.out.println("OpenCV 本地库加载失败，回退到纯Java实现: " + e.getMessage());
+        }
+        System.out.println("OpenCV 本地库 (" + envName + "): " + library.getAbsolutePath() + " - 存在: " + library.exists());
+    }
+
+    /**
+     * OpenCV本地库是否已加载
+     */
+    public static boolean isOpenCvLoaded() {
+        return openCvLoaded;
+    }
+
     /**
      * 获取tessdata路径
      */
     public static String getTessDataPath() throws URISyntaxException {
-        if (getEnv().equals("dev")) {
+        if (env.equals("dev")) {
             // 获得类加载器
             ClassLoader classLoader = PathDiagnostic.class.getClassLoader();
             // 获取tessdata文件夹
@@ -0,0 +1,423 @@
+package com.example.ocrtool.vector;
+
+import com.example.ocrtool.image.GrayHistogram;
+import com.example.ocrtool.image.ImagePreprocessor;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+import org.opencv.core.Size;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+/**
+ * VectorImageHandler
+ * <p>
+ * ImageOptimizationHandler的纯Java版本，使用jdk.incubator.vector做SIMD加速，不需要加载OpenCV本地库
+ * 彩色图以ARGB int数组保存，灰度化之后以无符号byte数组保存（每像素1字节，和CV_8UC1一致）
+ * 各步骤的计算方式尽量与OpenCV保持一致：灰度系数相同、高斯边界按BORDER_REFLECT_101处理、形态学越界像素不参与计算
+ */
+public class VectorImageHandler implements ImagePreprocessor {
+    // 算术使用平台最宽的int向量（128位SIMD上为4通道，AVX2上为8通道）
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // 读写使用通道数相同的byte向量；byte向量最窄64位（8通道），int通道更少时一个byte向量对应多个int向量
+    private static final VectorSpecies<Byte> BYTE_SPECIES = VectorSpecies.of(byte.class,
+            VectorShape.forBitSize(Math.max(INT_SPECIES.length() * Byte.SIZE, 64)));
+
+    // 一个byte向量扩展成几个int向量
+    private static final int PARTS = BYTE_SPECIES.length() / INT_SPECIES.length();
+
+    // 阈值和形态学只在byte上运算，直接用平台最宽的向量
+    private static final VectorSpecies<Byte> WIDE_SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    // OpenCV灰度化使用的定点系数（0.299/0.587/0.114 放大2^14）
+    private static final int R_WEIGHT = 4899;
+    private static final int G_WEIGHT = 9617;
+    private static final int B_WEIGHT = 1868;
+    private static final int GRAY_SHIFT = 14;
+
+    private final int width;
+    private final int height;
+
+    // 彩色像素（灰度化之前）
+    private int[] argb;
+
+    // 灰度像素（灰度化之后）
+    private byte[] gray;
+
+    // 当前灰度图的直方图，图片变化后置空
+    private GrayHistogram histogram;
+
+    // 构造图片对象
+    public VectorImageHandler(BufferedImage bufferedImage) {
+        this.width = bufferedImage.getWidth();
+        this.height = bufferedImage.getHeight();
+        int type = bufferedImage.getType();
+        boolean whole = coversBuffer(bufferedImage);
+        if (whole && (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)) {
+            // Robot截图就是INT_RGB，直接使用底层数组（只读，不会修改原图）
+            this.argb = ((DataBufferInt) bufferedImage.getRaster().getDataBuffer()).getData();
+        } else if (type == BufferedImage.TYPE_BYTE_GRAY) {
+            // 已经是灰度图则直接拷贝字节（getDataElements会处理子图的偏移和行跨度）
+            this.gray = whole
+                    ? ((DataBufferByte) bufferedImage.getRaster().getDataBuffer()).getData().clone()
+                    : (byte[]) bufferedImage.getRaster().getDataElements(0, 0, width, height, null);
+        } else {
+            // 其他类型或子图（getSubimage）逐像素转换
+            this.argb = new int[width * height];
+            bufferedImage.getRGB(0, 0, width, height, this.argb, 0, width);
+        }
+    }
+
+    /**
+     * ARGB → 灰度图
+     * <p>
+     * gray = (R*4899 + G*9617 + B*1868 + 2^13) >> 14，与OpenCV COLOR_BGR2GRAY一致
+     */
+    @Override
+    public void toGray() {
+        if (this.gray != null) {
+            return;
+        }
+        int[] src = this.argb;
+        byte[] dst = new byte[src.length];
+        int bound = BYTE_SPECIES.loopBound(src.length);
+        int i = 0;
+        for (; i < bound; i += BYTE_SPECIES.length()) {
+            ByteVector out = ByteVector.zero(BYTE_SPECIES);
+            for (int part = 0; part < PARTS; part++) {
+                IntVector v = IntVector.fromArray(INT_SPECIES, src, i + part * INT_SPECIES.length());
+                IntVector r = v.lanewise(VectorOperators.LSHR, 16).and(0xFF);
+                IntVector g = v.lanewise(VectorOperators.LSHR, 8).and(0xFF);
+                IntVector b = v.and(0xFF);
+                IntVector y = r.mul(R_WEIGHT)
+                        .add(g.mul(G_WEIGHT))
+                        .add(b.mul(B_WEIGHT))
+                        .add(1 << (GRAY_SHIFT - 1))
+                        .lanewise(VectorOperators.LSHR, GRAY_SHIFT);
+                out = out.or(narrowU8(y, part));
+            }
+            out.intoArray(dst, i);
+        }
+        // 剩余不足一个向量的部分
+        for (; i < src.length; i++) {
+            int p = src[i];
+            dst[i] = (byte) ((((p >> 16) & 0xFF) * R_WEIGHT + ((p >> 8) & 0xFF) * G_WEIGHT
+                    + (p & 0xFF) * B_WEIGHT + (1 << (GRAY_SHIFT - 1))) >>> GRAY_SHIFT);
+        }
+        this.argb = null;
+        update(dst);
+    }
+
+    /**
+     * 3*3高斯模糊去噪
+     * <p>
+     * 3*3高斯核可以拆成水平和垂直两次[1 2 1]卷积，先水平累加到int行缓存，再垂直累加并除以16
+     * 这里只实现OCR流程里用到的3*3，其他尺寸请使用OpenCV实现
+     */
+    @Override
+    public void denoise(Size ksize) {
+        if ((int) ksize.width != 3 || (int) ksize.height != 3) {
+            throw new IllegalArgumentException("😒纯Java实现仅支持3*3高斯核，当前为: " + ksize);
+        }
+        toGray();
+        byte[] src = this.gray;
+        byte[] dst = new byte[src.length];
+        // 三行水平卷积结果循环使用
+        int[][] rows = new int[3][width];
+        horizontalBlur(src, reflect(-1, height), rows[0]);
+        horizontalBlur(src, 0, rows[1]);
+        for (int y = 0; y < height; y++) {
+            horizontalBlur(src, reflect(y + 1, height), rows[(y + 2) % 3]);
+            verticalBlur(rows[y % 3], rows[(y + 1) % 3], rows[(y + 2) % 3], dst, y * width);
+        }
+        update(dst);
+    }
+
+    /**
+     * Otsu二极化
+     * <p>
+     * 阈值和背景极性取自同一份直方图，之后用宽向量做一次比较：
+     * 浅色背景时大于阈值置255、否则置0（同THRESH_BINARY），深色背景时相反（同THRESH_BINARY_INV）
+     */
+    @Override
+    public void binarize() {
+        GrayHistogram hist = histogram();
+        int threshold = hist.getOtsuThreshold();
+        byte above = hist.isDarkBackground() ? 0 : (byte) 0xFF;
+        byte below = (byte) ~above;
+        byte[] src = this.gray;
+        byte[] dst = new byte[src.length];
+        ByteVector aboveVector = ByteVector.broadcast(WIDE_SPECIES, above);
+        ByteVector belowVector = ByteVector.broadcast(WIDE_SPECIES, below);
+        int bound = WIDE_SPECIES.loopBound(src.length);
+        int i = 0;
+        for (; i < bound; i += WIDE_SPECIES.length()) {
+            VectorMask<Byte> mask = ByteVector.fromArray(WIDE_SPECIES, src, i)
+                    .compare(VectorOperators.UNSIGNED_GT, (byte) threshold);
+            belowVector.blend(aboveVector, mask).intoArray(dst, i);
+        }
+        for (; i < src.length; i++) {
+            dst[i] = (src[i] & 0xFF) > threshold ? above : below;
+        }
+        update(dst);
+    }
+
+    /**
+     * 去噪点+填补断裂（矩形核闭运算：先膨胀再腐蚀）
+     * <p>
+     * 矩形核的最大/最小值滤波都可以拆成水平和垂直两次一维滤波
+     * 向量里只有有符号比较，所以先把像素异或0x80，让无符号大小关系变成有符号大小关系，算完再异或回来
+     */
+    @Override
+    public void morphClose(Size size) {
+        toGray();
+        int kw = (int) size.width;
+        int kh = (int) size.height;
+        byte[] buf = this.gray.clone();
+        flipSign(buf);
+        byte[] tmp = new byte[buf.length];
+        // 膨胀：越界部分按最小值处理，不影响最大值
+        rowFilter(buf, tmp, kw, VectorOperators.MAX, Byte.MIN_VALUE);
+        columnFilter(tmp, buf, kh, VectorOperators.MAX);
+        // 腐蚀：越界部分按最大值处理，不影响最小值
+        rowFilter(buf, tmp, kw, VectorOperators.MIN, Byte.MAX_VALUE);
+        columnFilter(tmp, buf, kh, VectorOperators.MIN);
+        flipSign(buf);
+        update(buf);
+    }
+
+    /**
+     * 黑白反相（255 - 像素值，即异或0xFF）
+     */
+    @Override
+    public void invert() {
+        toGray();
+        byte[] pixels = this.gray.clone();
+        int bound = WIDE_SPECIES.loopBound(pixels.length);
+        int i = 0;
+        for (; i < bound; i += WIDE_SPECIES.length()) {
+            ByteVector.fromArray(WIDE_SPECIES, pixels, i).not().intoArray(pixels, i);
+        }
+        for (; i < pixels.length; i++) {
+            pixels[i] = (byte) ~pixels[i];
+        }
+        GrayHistogram previous = this.histogram;
+        update(pixels);
+        // 反相后的直方图就是原直方图倒序，不用重新统计
+        if (previous != null) {
+            this.histogram = previous.inverted();
+        }
+    }
+
+    /**
+     * 深色背景时自动反相
+     */
+    @Override
+    public void normalizePolarity() {
+        if (histogram().isDarkBackground()) {
+            invert();
+        }
+    }
+
+    /**
+     * 统计灰度直方图（结果会缓存到图片下一次变化）
+     */
+    @Override
+    public GrayHistogram histogram() {
+        if (this.histogram == null) {
+            toGray();
+            this.histogram = GrayHistogram.of(this.gray);
+        }
+        return this.histogram;
+    }
+
+    /**
+     * 获取BufferedImage对象
+     */
+    @Override
+    public BufferedImage getBufferedImage() {
+        if (this.gray == null) {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(0, 0, width, height, this.argb, 0, width);
+            return image;
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        final byte[] targetPixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        System.arraycopy(this.gray, 0, targetPixels, 0, this.gray.length);
+        return image;
+    }
+
+    /**
+     * 对某一行做水平[1 2 1]卷积
+     */
+    private void horizontalBlur(byte[] src, int y, int[] out) {
+        int base = y * width;
+        if (width == 1) {
+            out[0] = (src[base] & 0xFF) * 4;
+            return;
+        }
+        // 左右边界按BORDER_REFLECT_101取值
+        out[0] = (src[base] & 0xFF) * 2 + (src[base + 1] & 0xFF) * 2;
+        out[width - 1] = (src[base + width - 1] & 0xFF) * 2 + (src[base + width - 2] & 0xFF) * 2;
+        int x = 1;
+        int bound = 1 + BYTE_SPECIES.loopBound(Math.max(width - 2, 0));
+        for (; x < bound; x += BYTE_SPECIES.length()) {
+            ByteVector left = ByteVector.fromArray(BYTE_SPECIES, src, base + x - 1);
+            ByteVector center = ByteVector.fromArray(BYTE_SPECIES, src, base + x);
+            ByteVector right = ByteVector.fromArray(BYTE_SPECIES, src, base + x + 1);
+            for (int part = 0; part < PARTS; part++) {
+                widenU8(left, part)
+                        .add(widenU8(center, part).lanewise(VectorOperators.LSHL, 1))
+                        .add(widenU8(right, part))
+                        .intoArray(out, x + part * INT_SPECIES.length());
+            }
+        }
+        for (; x < width - 1; x++) {
+            out[x] = (src[base + x - 1] & 0xFF) + (src[base + x] & 0xFF) * 2 + (src[base + x + 1] & 0xFF);
+        }
+    }
+
+    /**
+     * 对三行水平卷积结果做垂直[1 2 1]卷积，四舍五入后除以16
+     */
+    private void verticalBlur(int[] up, int[] center, int[] down, byte[] dst, int offset) {
+        int bound = BYTE_SPECIES.loopBound(width);
+        int x = 0;
+        for (; x < bound; x += BYTE_SPECIES.length()) {
+            ByteVector out = ByteVector.zero(BYTE_SPECIES);
+            for (int part = 0; part < PARTS; part++) {
+                int i = x + part * INT_SPECIES.length();
+                IntVector sum = IntVector.fromArray(INT_SPECIES, up, i)
+                        .add(IntVector.fromArray(INT_SPECIES, center, i).lanewise(VectorOperators.LSHL, 1))
+                        .add(IntVector.fromArray(INT_SPECIES, down, i))
+                        .add(8)
+                        .lanewise(VectorOperators.LSHR, 4);
+                out = out.or(narrowU8(sum, part));
+            }
+            out.intoArray(dst, offset + x);
+        }
+        for (; x < width; x++) {
+            dst[offset + x] = (byte) ((up[x] + center[x] * 2 + down[x] + 8) >>> 4);
+        }
+    }
+
+    /**
+     * 一维水平最大/最小值滤波，锚点在核中心（同OpenCV默认锚点）
+     */
+    private void rowFilter(byte[] src, byte[] dst, int ksize, VectorOperators.Binary op, byte padding) {
+        int anchor = ksize / 2;
+        // 每行两侧补齐越界像素后再滑窗
+        byte[] padded = new byte[width + ksize - 1];
+        Arrays.fill(padded, padding);
+        int bound = WIDE_SPECIES.loopBound(width);
+        for (int y = 0; y < height; y++) {
+            int base = y * width;
+            System.arraycopy(src, base, padded, anchor, width);
+            int x = 0;
+            for (; x < bound; x += WIDE_SPECIES.length()) {
+                ByteVector acc = ByteVector.fromArray(WIDE_SPECIES, padded, x);
+                for (int k = 1; k < ksize; k++) {
+                    acc = acc.lanewise(op, ByteVector.fromArray(WIDE_SPECIES, padded, x + k));
+                }
+                acc.intoArray(dst, base + x);
+            }
+            for (; x < width; x++) {
+                byte acc = padded[x];
+                for (int k = 1; k < ksize; k++) {
+                    acc = apply(op, acc, padded[x + k]);
+                }
+                dst[base + x] = acc;
+            }
+        }
+    }
+
+    /**
+     * 一维垂直最大/最小值滤波，越界的行直接跳过
+     */
+    private void columnFilter(byte[] src, byte[] dst, int ksize, VectorOperators.Binary op) {
+        int anchor = ksize / 2;
+        int bound = WIDE_SPECIES.loopBound(width);
+        for (int y = 0; y < height; y++) {
+            int from = Math.max(y - anchor, 0);
+            int to = Math.min(y - anchor + ksize, height);
+            int base = y * width;
+            int x = 0;
+            for (; x < bound; x += WIDE_SPECIES.length()) {
+                ByteVector acc = ByteVector.fromArray(WIDE_SPECIES, src, from * width + x);
+                for (int r = from + 1; r < to; r++) {
+                    acc = acc.lanewise(op, ByteVector.fromArray(WIDE_SPECIES, src, r * width + x));
+                }
+                acc.intoArray(dst, base + x);
+            }
+            for (; x < width; x++) {
+                byte acc = src[from * width + x];
+                for (int r = from + 1; r < to; r++) {
+                    acc = apply(op, acc, src[r * width + x]);
+                }
+                dst[base + x] = acc;
+            }
+        }
+    }
+
+    // 替换当前灰度图，并让直方图缓存失效
+    private void update(byte[] pixels) {
+        this.gray = pixels;
+        this.histogram = null;
+    }
+
+    // 取byte向量的第part段，按无符号扩展成int
+    private static IntVector widenU8(ByteVector v, int part) {
+        return ((IntVector) v.convertShape(VectorOperators.B2I, INT_SPECIES, part)).and(0xFF);
+    }
+
+    // 将0~255的int截断成byte，放到byte向量的第part段，其余通道为0
+    private static ByteVector narrowU8(IntVector v, int part) {
+        return (ByteVector) v.convertShape(VectorOperators.I2B, BYTE_SPECIES, -part);
+    }
+
+    // 栅格正好覆盖整个底层数组时才能直接使用（getSubimage得到的子图与原图共享数组，带偏移和行跨度）
+    private static boolean coversBuffer(BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+        return raster.getDataBuffer().getNumBanks() == 1
+                && raster.getDataBuffer().getOffset() == 0
+                && raster.getDataBuffer().getSize() == image.getWidth() * image.getHeight()
+                && raster.getSampleModelTranslateX() == 0
+                && raster.getSampleModelTranslateY() == 0;
+    }
+
+    // 异或0x80，在无符号和有符号表示之间切换
+    private static void flipSign(byte[] pixels) {
+        int bound = WIDE_SPECIES.loopBound(pixels.length);
+        int i = 0;
+        for (; i < bound; i += WIDE_SPECIES.length()) {
+            ByteVector.fromArray(WIDE_SPECIES, pixels, i).lanewise(VectorOperators.XOR, (byte) 0x80).intoArray(pixels, i);
+        }
+        for (; i < pixels.length; i++) {
+            pixels[i] ^= (byte) 0x80;
+        }
+    }
+
+    // 标量版本的最大/最小值
+    private static byte apply(VectorOperators.Binary op, byte a, byte b) {
+        return op == VectorOperators.MAX ? (byte) Math.max(a, b) : (byte) Math.min(a, b);
+    }
+
+    // 按BORDER_REFLECT_101计算越界下标
+    private static int reflect(int i, int n) {
+        if (n == 1) {
+            return 0;
+        }
+        if (i < 0) {
+            return -i;
+        }
+        return i >= n ? 2 * n - 2 - i : i;
+    }
+}